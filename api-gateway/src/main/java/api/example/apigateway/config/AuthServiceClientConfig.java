@@ -0,0 +1,54 @@
+package api.example.apigateway.config;
+
+import api.example.shared.dto.JwkSet;
+import api.example.shared.dto.RevocationsResponse;
+import api.example.shared.security.JwksSource;
+import api.example.shared.security.JwtProperties;
+import api.example.shared.security.RevocationSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.loadbalancer.reactive.DeferringLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+/**
+ * The gateway has no RestTemplate, so it reads the auth-service denylist and signing keys through a
+ * load-balanced WebClient. Blocking is fine here: both sources are only called from their syncers' own threads.
+ * The load balancer filter is added to a copy of Boot's builder rather than exposed as a {@code @LoadBalanced}
+ * builder bean, which would replace Boot's default one for everything else in the gateway.
+ */
+@Configuration
+public class AuthServiceClientConfig {
+
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+
+    @Bean
+    @ConditionalOnProperty(prefix = "jwt.revocation", name = "enabled", matchIfMissing = true)
+    public RevocationSource revocationSource(WebClient.Builder builder,
+                                             DeferringLoadBalancerExchangeFilterFunction<?> loadBalancer,
+                                             JwtProperties properties) {
+        WebClient webClient = builder.clone().filter(loadBalancer).build();
+        String url = properties.getRevocation().getUrl();
+        return since -> webClient.get()
+                .uri(url + "?since={since}", since)
+                .retrieve()
+                .bodyToMono(RevocationsResponse.class)
+                .block(FETCH_TIMEOUT);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "jwt.jwks", name = "enabled", matchIfMissing = true)
+    public JwksSource jwksSource(WebClient.Builder builder,
+                                 DeferringLoadBalancerExchangeFilterFunction<?> loadBalancer,
+                                 JwtProperties properties) {
+        WebClient webClient = builder.clone().filter(loadBalancer).build();
+        String url = properties.getJwks().getUrl();
+        return () -> webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToMono(JwkSet.class)
+                .block(FETCH_TIMEOUT);
+    }
+}
@@ -0,0 +1,18 @@
+package api.example.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "gateway.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+    /** Responses larger than this are streamed to the first caller only; the others make their own call. */
+    private DataSize maxBodySize = DataSize.ofMegabytes(1);
+    /** How long a merged request waits for the shared call before making its own. */
+    private Duration maxWait = Duration.ofSeconds(10);
+}
@@ -0,0 +1,22 @@
+package api.example.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "gateway.dashboard")
+public class DashboardProperties {
+
+    /** How long each backend call may take before its section is returned as timed out. */
+    private Duration timeout = Duration.ofSeconds(2);
+    /** Per-section overrides of {@link #timeout}, keyed by section name (employee, leaves, payroll, projects). */
+    private Map<String, Duration> timeouts = new HashMap<>();
+
+    public Duration timeoutFor(String section) {
+        return timeouts.getOrDefault(section, timeout);
+    }
+}
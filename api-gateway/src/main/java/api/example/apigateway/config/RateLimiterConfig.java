@@ -0,0 +1,67 @@
+package api.example.apigateway.config;
+
+import api.example.apigateway.filter.IdentityPropagationFilter;
+import api.example.shared.security.VerifiedToken;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.function.Function;
+
+/**
+ * Keys for the {@code RequestRateLimiter} filter. Both resolvers read the token verified by
+ * {@link IdentityPropagationFilter}; anonymous requests (login, password reset) are keyed by client IP.
+ * <p>
+ * The client IP is the socket address unless {@code gateway.rate-limiter.trusted-proxies} says how many proxies
+ * in front of the gateway append to X-Forwarded-For. Entries beyond those are written by the client and ignored.
+ */
+@Configuration
+public class RateLimiterConfig {
+
+    private final RemoteAddressResolver clientAddress;
+
+    public RateLimiterConfig(RateLimiterProperties properties) {
+        this.clientAddress = properties.getTrustedProxies() > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(properties.getTrustedProxies())
+                : new RemoteAddressResolver() {
+                };
+    }
+
+    /**
+     * One budget per user. The default for routes that do not name a resolver.
+     */
+    @Bean
+    @Primary
+    public KeyResolver principalKeyResolver() {
+        return keyedBy(token -> "user:" + (token.getUserId() != null ? token.getUserId() : token.getEmail()));
+    }
+
+    /**
+     * One budget shared by everyone with the same role.
+     */
+    @Bean
+    public KeyResolver roleKeyResolver() {
+        return keyedBy(token -> "role:" + token.getRole());
+    }
+
+    private KeyResolver keyedBy(Function<VerifiedToken, String> key) {
+        return exchange -> {
+            VerifiedToken token = exchange.getAttribute(IdentityPropagationFilter.VERIFIED_TOKEN_ATTRIBUTE);
+            return Mono.just(token != null ? key.apply(token) : "ip:" + clientAddress(exchange));
+        };
+    }
+
+    private String clientAddress(ServerWebExchange exchange) {
+        InetSocketAddress address = clientAddress.resolve(exchange);
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
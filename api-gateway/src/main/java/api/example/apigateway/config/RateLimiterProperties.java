@@ -0,0 +1,25 @@
+package api.example.apigateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Memory bounds for {@link api.example.apigateway.filter.LocalRateLimiter}. The limits themselves are set per route
+ * on the {@code RequestRateLimiter} filter.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.rate-limiter")
+public class RateLimiterProperties {
+
+    /** Buckets kept per route; new callers beyond this are rejected and counted as overflow. */
+    private int maxKeys = 100_000;
+    /** How often buckets that have refilled completely are dropped, off the request path. 0 disables the sweep. */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+    /**
+     * Proxies in front of the gateway that append the client address to X-Forwarded-For. At 0 the gateway is the
+     * edge and anonymous callers are keyed by the socket address; the header is whatever the client sent.
+     */
+    private int trustedProxies = 0;
+}
@@ -0,0 +1,65 @@
+package api.example.apigateway.controller;
+
+import api.example.apigateway.dto.EmployeeDashboard;
+import api.example.apigateway.dto.EmployeeDashboard.Section;
+import api.example.apigateway.service.EmployeeDashboardService;
+import api.example.shared.security.IdentityAssertion;
+import api.example.shared.security.JwtVerifier;
+import api.example.shared.security.VerifiedToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Composite views served by the gateway itself. They are not routes, so the caller's token is verified here
+ * and forwarded to the backends together with the signed identity header, as {@code IdentityPropagationFilter}
+ * does for routed requests.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final EmployeeDashboardService dashboardService;
+    private final JwtVerifier jwtVerifier;
+    private final IdentityAssertion identityAssertion;
+
+    /**
+     * The employee plus their leaves, payroll and projects. Sections that failed are marked and the rest is
+     * still returned; only a client error on the employee itself (not found, forbidden) fails the whole call.
+     */
+    @GetMapping("/employees/{id}")
+    public Mono<EmployeeDashboard> getEmployeeDashboard(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        VerifiedToken token = authorization != null && authorization.startsWith("Bearer ")
+                ? jwtVerifier.verify(authorization.substring(7))
+                : null;
+        if (token == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or missing token"));
+        }
+
+        String assertion = identityAssertion.sign(token);
+        return dashboardService.getDashboard(id, headers -> {
+                    headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    headers.set(jwtVerifier.getIdentityHeader(), assertion);
+                })
+                .flatMap(dashboard -> {
+                    Section employee = dashboard.getEmployee();
+                    if (!employee.isOk() && employee.getHttpStatus() != null
+                            && HttpStatusCode.valueOf(employee.getHttpStatus()).is4xxClientError()) {
+                        return Mono.error(new ResponseStatusException(
+                                HttpStatusCode.valueOf(employee.getHttpStatus()), employee.getError()));
+                    }
+                    return Mono.just(dashboard);
+                });
+    }
+}
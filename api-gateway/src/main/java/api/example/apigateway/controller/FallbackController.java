@@ -1,20 +1,37 @@
 package api.example.apigateway.controller;
 
+import api.example.apigateway.filter.BulkheadFullException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR;
+
+/**
+ * Responses for routes whose circuit breaker tripped, timed out or whose bulkhead was full.
+ * Mapped for every method, since the circuit breaker forwards the original request here.
+ */
 @RestController
 @RequestMapping("/fallback")
 public class FallbackController {
 
-    @GetMapping("/general")
+    private static final Map<String, String> SERVICES = Map.of(
+            "auth", "Authentication service",
+            "employees", "Employee service",
+            "leaves", "Leave service",
+            "payroll", "Payroll service",
+            "projects", "Project service"
+    );
+
+    @RequestMapping("/general")
     public Mono<ResponseEntity<Map<String, Object>>> generalFallback() {
         return Mono.just(ResponseEntity
                 .status(HttpStatus.SERVICE_UNAVAILABLE)
@@ -24,4 +41,32 @@ public class FallbackController {
                         "timestamp", LocalDateTime.now()
                 )));
     }
-}
\ No newline at end of file
+
+    @RequestMapping("/{service}")
+    public Mono<ResponseEntity<Map<String, Object>>> serviceFallback(@PathVariable String service,
+                                                                     ServerWebExchange exchange) {
+        String name = SERVICES.get(service);
+        if (name == null) {
+            return generalFallback();
+        }
+
+        Throwable cause = exchange.getAttribute(CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        String error = name + " is currently unavailable";
+        if (cause instanceof TimeoutException) {
+            status = HttpStatus.GATEWAY_TIMEOUT;
+            error = name + " did not respond in time";
+        } else if (cause instanceof BulkheadFullException) {
+            error = name + " is handling too many requests";
+        }
+
+        return Mono.just(ResponseEntity
+                .status(status)
+                .body(Map.of(
+                        "error", error,
+                        "service", service,
+                        "message", "Please try again later",
+                        "timestamp", LocalDateTime.now()
+                )));
+    }
+}
@@ -0,0 +1,51 @@
+package api.example.apigateway.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything the front end shows for one employee. Each section holds the backend's own response,
+ * or an error marker when that backend failed or timed out.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeDashboard {
+    private Section employee;
+    private Section leaves;
+    private Section payroll;
+    private Section projects;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Section {
+        public static final String OK = "ok";
+        public static final String ERROR = "error";
+        public static final String TIMEOUT = "timeout";
+
+        private String status;
+        /** The backend's status code when it answered with an error. */
+        private Integer httpStatus;
+        private String error;
+        private JsonNode data;
+
+        public static Section ok(JsonNode data) {
+            return new Section(OK, null, null, data);
+        }
+
+        public static Section failed(String status, Integer httpStatus, String error) {
+            return new Section(status, httpStatus, error, null);
+        }
+
+        @JsonIgnore
+        public boolean isOk() {
+            return OK.equals(status);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package api.example.apigateway.filter;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Raised when a route already has its maximum number of requests in flight.
+ */
+public class BulkheadFullException extends ResponseStatusException {
+
+    public BulkheadFullException(String name) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Bulkhead '" + name + "' is full");
+    }
+}
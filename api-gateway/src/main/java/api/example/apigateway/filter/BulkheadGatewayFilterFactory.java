@@ -0,0 +1,125 @@
+package api.example.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Semaphore bulkhead per route: once {@code maxConcurrentCalls} requests are in flight, further requests
+ * fail immediately with {@link BulkheadFullException} instead of queueing for a connection, so one slow
+ * service cannot hold every gateway connection. Place it after the route's CircuitBreaker filter so the
+ * rejection is answered by that route's fallback. Routes sharing a {@code name} share one bulkhead; a
+ * changed {@code maxConcurrentCalls} resizes it on the next route refresh without dropping requests in flight.
+ * <pre>
+ * - name: Bulkhead
+ *   args:
+ *     name: payroll
+ *     maxConcurrentCalls: 50
+ * </pre>
+ */
+@Component
+public class BulkheadGatewayFilterFactory extends AbstractGatewayFilterFactory<BulkheadGatewayFilterFactory.Config> {
+
+    private static final String METRIC_PREFIX = "gateway.bulkhead";
+
+    private final MeterRegistry meterRegistry;
+    /** Kept across route refreshes so requests in flight are not forgotten. */
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public BulkheadGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name", "maxConcurrentCalls");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String name = config.getName();
+        Bulkhead bulkhead = bulkheads.compute(name, (key, existing) -> {
+            if (existing == null) {
+                return new Bulkhead(key, config.getMaxConcurrentCalls());
+            }
+            existing.resize(config.getMaxConcurrentCalls());
+            return existing;
+        });
+        Semaphore semaphore = bulkhead.semaphore;
+        Counter rejected = bulkhead.rejected;
+
+        return (exchange, chain) -> {
+            if (!semaphore.tryAcquire()) {
+                rejected.increment();
+                return Mono.error(new BulkheadFullException(name));
+            }
+            AtomicBoolean released = new AtomicBoolean();
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        if (released.compareAndSet(false, true)) {
+                            semaphore.release();
+                        }
+                    });
+        };
+    }
+
+    private final class Bulkhead {
+        private final ResizableSemaphore semaphore;
+        private final Counter rejected;
+        private int limit;
+
+        Bulkhead(String name, int limit) {
+            this.limit = limit;
+            this.semaphore = new ResizableSemaphore(limit);
+            Gauge.builder(METRIC_PREFIX + ".available", semaphore, Semaphore::availablePermits)
+                    .description("Requests the route can still accept")
+                    .tag("name", name)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+                    .description("Requests refused because the route was at its concurrency limit")
+                    .tag("name", name)
+                    .register(meterRegistry);
+        }
+
+        /** Only called inside {@code compute}, so resizes of one bulkhead never interleave. */
+        void resize(int newLimit) {
+            int delta = newLimit - limit;
+            if (delta > 0) {
+                semaphore.release(delta);
+            } else if (delta < 0) {
+                semaphore.reducePermits(-delta);
+            }
+            limit = newLimit;
+        }
+    }
+
+    /** Shrinking may leave the permit count negative until enough requests in flight finish. */
+    private static final class ResizableSemaphore extends Semaphore {
+        ResizableSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+
+    @Data
+    public static class Config {
+        private String name;
+        private int maxConcurrentCalls = 50;
+    }
+}
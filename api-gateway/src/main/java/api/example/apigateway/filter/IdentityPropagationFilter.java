@@ -0,0 +1,56 @@
+package api.example.apigateway.filter;
+
+import api.example.shared.security.IdentityAssertion;
+import api.example.shared.security.JwtVerifier;
+import api.example.shared.security.VerifiedToken;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies the bearer token once at the edge and forwards a signed identity header,
+ * so downstream services can skip JWS parsing. Any identity header sent by the client
+ * is stripped first. Requests with missing or invalid tokens are forwarded unchanged
+ * and the downstream service rejects them as before.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdentityPropagationFilter implements GlobalFilter, Ordered {
+
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = IdentityPropagationFilter.class.getName() + ".token";
+
+    private final JwtVerifier jwtVerifier;
+    private final IdentityAssertion identityAssertion;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String identityHeader = jwtVerifier.getIdentityHeader();
+        ServerHttpRequest.Builder request = exchange.getRequest().mutate()
+                .headers(headers -> headers.remove(identityHeader));
+
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            VerifiedToken token = jwtVerifier.verify(authorization.substring(7));
+            if (token != null) {
+                request.header(identityHeader, identityAssertion.sign(token));
+                exchange.getAttributes().put(VERIFIED_TOKEN_ATTRIBUTE, token);
+                log.debug("Asserted identity for user: {}", token.getEmail());
+            }
+        }
+
+        return chain.filter(exchange.mutate().request(request.build()).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,316 @@
+package api.example.apigateway.filter;
+
+import api.example.apigateway.config.RateLimiterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory token-bucket {@link org.springframework.cloud.gateway.filter.ratelimit.RateLimiter} for the
+ * {@code RequestRateLimiter} filter, so the gateway can rate limit without Redis. Limits are per gateway instance.
+ * <p>
+ * Each route has its own budget and its own map of buckets, one per key from the route's KeyResolver.
+ * A bucket is a single {@code long} that packs the token count and the time of the last refill. It is
+ * refilled lazily and updated by compare-and-set, so there are no locks on the request path. Full buckets
+ * behave exactly like missing ones, so they are dropped every {@code gateway.rate-limiter.sweep-interval}
+ * by a background thread, never on the event loop. The sweep marks a bucket evicted with the same compare-and-set before removing it, so a request racing
+ * the sweep either lands first and keeps the bucket, or sees the mark and starts a new one.
+ * A route that still has {@code max-keys} buckets rejects new callers and counts them as overflow: letting them
+ * through would let anyone who can mint keys switch the limiter off for everyone. Overflow also brings the next
+ * sweep forward, at most once a second, to make room.
+ * <pre>
+ * - name: RequestRateLimiter
+ *   args:
+ *     key-resolver: "#{@principalKeyResolver}"
+ *     local-rate-limiter.burst-capacity: 10
+ *     local-rate-limiter.replenish-rate: 10
+ *     local-rate-limiter.replenish-period: 1m
+ * </pre>
+ */
+@Slf4j
+@Component
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> implements AutoCloseable {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final String METRIC_PREFIX = "gateway.rate.limiter";
+    private static final long OVERFLOW_WARN_INTERVAL_NANOS = Duration.ofMinutes(1).toNanos();
+    private static final long EARLY_SWEEP_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+    /** Bucket state set by the sweep; a NaN token count, which refilling never produces. */
+    private static final long EVICTED = -1L;
+
+    private final RateLimiterProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Config defaultConfig = new Config();
+    private final Map<String, RouteBuckets> routes = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+    private final ScheduledExecutorService sweeper;
+    private final AtomicLong lastSweep = new AtomicLong(startNanos);
+    private final AtomicBoolean sweepRequested = new AtomicBoolean();
+
+    public LocalRateLimiter(ConfigurationService configurationService, RateLimiterProperties properties,
+                            MeterRegistry meterRegistry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(METRIC_PREFIX + ".keys", routes,
+                        r -> r.values().stream().mapToInt(route -> route.buckets.size()).sum())
+                .description("Rate limit buckets currently held across all routes")
+                .register(meterRegistry);
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limiter-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getSweepInterval().toNanos();
+        if (interval > 0) {
+            sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        RouteBuckets route = route(routeId);
+        int now = nowMillis();
+
+        while (true) {
+            AtomicLong bucket = route.buckets.get(id);
+            if (bucket == null) {
+                if (route.buckets.size() >= properties.getMaxKeys()) {
+                    route.overflow.increment();
+                    route.warnOverflow(routeId);
+                    requestSweep();
+                    return Mono.just(route.response(false, -route.requested));
+                }
+                bucket = route.buckets.computeIfAbsent(id, key -> new AtomicLong(pack(route.capacity, now)));
+            }
+
+            float remaining = route.tryAcquire(bucket, now);
+            if (Float.isNaN(remaining)) {
+                // swept between the lookup and the acquire
+                continue;
+            }
+            boolean allowed = remaining >= 0;
+            (allowed ? route.allowedRequests : route.rejectedRequests).increment();
+            return Mono.just(route.response(allowed, remaining));
+        }
+    }
+
+    private RouteBuckets route(String routeId) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        RouteBuckets route = routes.get(routeId);
+        if (route != null && route.config == config) {
+            return route;
+        }
+        // the route was (re)bound: keep the buckets unless the limits actually changed
+        return routes.compute(routeId, (id, existing) ->
+                existing != null && existing.config.equals(config) ? existing.rebind(config) : new RouteBuckets(id, config));
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    /**
+     * Drops buckets that have refilled completely. Runs on the sweeper thread.
+     */
+    void sweep() {
+        try {
+            int now = nowMillis();
+            int evicted = 0;
+            for (RouteBuckets route : routes.values()) {
+                for (Map.Entry<String, AtomicLong> entry : route.buckets.entrySet()) {
+                    AtomicLong bucket = entry.getValue();
+                    long state = bucket.get();
+                    if (state != EVICTED && route.refill(state, now) >= route.capacity
+                            && bucket.compareAndSet(state, EVICTED)) {
+                        route.buckets.remove(entry.getKey(), bucket);
+                        evicted++;
+                    }
+                }
+            }
+            log.debug("Dropped {} idle rate limit buckets", evicted);
+        } catch (Exception e) {
+            log.error("Rate limit bucket sweep failed: {}", e.getMessage());
+        } finally {
+            lastSweep.set(System.nanoTime());
+        }
+    }
+
+    /**
+     * Brings the sweep forward for a full route, unless one ran or is queued within the last second.
+     */
+    private void requestSweep() {
+        if (System.nanoTime() - lastSweep.get() < EARLY_SWEEP_INTERVAL_NANOS
+                || !sweepRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sweeper.execute(() -> {
+                try {
+                    sweep();
+                } finally {
+                    sweepRequested.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            sweepRequested.set(false);
+        }
+    }
+
+    private int nowMillis() {
+        return (int) ((System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private static long pack(float tokens, int millis) {
+        return ((long) Float.floatToRawIntBits(tokens) << 32) | (millis & 0xFFFFFFFFL);
+    }
+
+    private static float tokens(long state) {
+        return Float.intBitsToFloat((int) (state >>> 32));
+    }
+
+    private static int millis(long state) {
+        return (int) state;
+    }
+
+    /**
+     * The buckets of one route, with the limits they were created for.
+     */
+    private final class RouteBuckets {
+        private volatile Config config;
+        private final float capacity;
+        private final float requested;
+        private final double tokensPerMilli;
+        private final boolean includeHeaders;
+        private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final Counter allowedRequests;
+        private final Counter rejectedRequests;
+        private final Counter overflow;
+        private final AtomicLong lastOverflowWarn = new AtomicLong(System.nanoTime() - OVERFLOW_WARN_INTERVAL_NANOS);
+
+        RouteBuckets(String routeId, Config config) {
+            this.config = config;
+            this.capacity = config.getBurstCapacity();
+            this.requested = config.getRequestedTokens();
+            this.tokensPerMilli = (double) config.getReplenishRate() / Math.max(1, config.getReplenishPeriod().toMillis());
+            this.includeHeaders = config.isIncludeHeaders();
+            this.allowedRequests = counter(routeId, "allowed");
+            this.rejectedRequests = counter(routeId, "rejected");
+            this.overflow = Counter.builder(METRIC_PREFIX + ".overflow")
+                    .description("Requests rejected because the route had no room for another bucket")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+        }
+
+        RouteBuckets rebind(Config config) {
+            this.config = config;
+            return this;
+        }
+
+        /**
+         * Logs at most once a minute per route: a full route sees every new caller.
+         */
+        void warnOverflow(String routeId) {
+            long last = lastOverflowWarn.get();
+            long current = System.nanoTime();
+            if (current - last >= OVERFLOW_WARN_INTERVAL_NANOS && lastOverflowWarn.compareAndSet(last, current)) {
+                log.warn("Rate limiter for route {} holds {} keys, rejecting new callers (see {}.overflow)",
+                        routeId, buckets.size(), METRIC_PREFIX);
+            }
+        }
+
+        /**
+         * @return the tokens left if the request was allowed, otherwise the (negative) shortfall,
+         * or NaN if the bucket was evicted and must be looked up again
+         */
+        float tryAcquire(AtomicLong bucket, int now) {
+            while (true) {
+                long state = bucket.get();
+                if (state == EVICTED) {
+                    return Float.NaN;
+                }
+                float after = refill(state, now) - requested;
+                if (after < 0) {
+                    return after;
+                }
+                if (bucket.compareAndSet(state, pack(after, now))) {
+                    return after;
+                }
+            }
+        }
+
+        float refill(long state, int now) {
+            // int subtraction stays correct across wrap-around; idle buckets are swept long before it matters
+            long elapsed = Math.max(0, now - millis(state));
+            return (float) Math.min(capacity, tokens(state) + elapsed * tokensPerMilli);
+        }
+
+        Response response(boolean allowed, float remaining) {
+            if (!includeHeaders) {
+                return new Response(allowed, Map.of());
+            }
+            Map<String, String> headers = new HashMap<>();
+            headers.put(LIMIT_HEADER, String.valueOf((long) capacity));
+            headers.put(REMAINING_HEADER, String.valueOf((long) Math.max(0, remaining)));
+            headers.put(RESET_HEADER, String.valueOf(secondsToRefill(capacity - Math.max(0, remaining))));
+            if (!allowed) {
+                headers.put(RETRY_AFTER_HEADER, String.valueOf(Math.max(1, secondsToRefill(-remaining))));
+            }
+            return new Response(allowed, headers);
+        }
+
+        private long secondsToRefill(float tokens) {
+            return (long) Math.ceil(tokens / tokensPerMilli / 1000);
+        }
+
+        private Counter counter(String routeId, String result) {
+            return Counter.builder(METRIC_PREFIX + ".requests")
+                    .description("Requests checked by the local rate limiter")
+                    .tag("route", routeId)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Data
+    @Validated
+    public static class Config {
+        /** Tokens a bucket holds when full, i.e. the largest burst allowed. */
+        @Min(1)
+        private int burstCapacity = 100;
+        /** Tokens added every {@code replenishPeriod}. */
+        @Min(1)
+        private int replenishRate = 50;
+        private Duration replenishPeriod = Duration.ofSeconds(1);
+        @Min(1)
+        private int requestedTokens = 1;
+        private boolean includeHeaders = true;
+    }
+}
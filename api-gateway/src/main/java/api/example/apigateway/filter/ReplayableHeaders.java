@@ -0,0 +1,33 @@
+package api.example.apigateway.filter;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.Set;
+
+/**
+ * Copies the response headers that may be replayed to another request: hop-by-hop, length, cookie and CORS
+ * headers are recomputed per request and dropped.
+ */
+final class ReplayableHeaders {
+
+    private static final Set<String> EXCLUDED = Set.of(
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.SET_COOKIE.toLowerCase(),
+            HttpHeaders.VARY.toLowerCase());
+
+    private ReplayableHeaders() {
+    }
+
+    static HttpHeaders copyOf(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String lower = name.toLowerCase();
+            if (!EXCLUDED.contains(lower) && !lower.startsWith("access-control-")) {
+                copy.addAll(name, values);
+            }
+        });
+        return copy;
+    }
+}
@@ -0,0 +1,199 @@
+package api.example.apigateway.filter;
+
+import api.example.apigateway.config.CoalescingProperties;
+import api.example.shared.security.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Merges identical concurrent GETs into one upstream call. Requests are identical when they hit the same route,
+ * path and query as the same verified caller with the same Accept and If-None-Match headers. The first request
+ * goes upstream; the others wait for its response, which is buffered and replayed to each of them.
+ * If the response is too large, streamed, or the call fails, the waiting requests go upstream themselves.
+ * Runs right after {@link IdentityPropagationFilter}, so merged requests also skip the route's circuit breaker
+ * and bulkhead.
+ */
+@Slf4j
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    private static final String METRIC_PREFIX = "gateway.coalescing";
+
+    private final CoalescingProperties properties;
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter merged;
+    private final Counter unshared;
+
+    public RequestCoalescingFilter(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.leaders = Counter.builder(METRIC_PREFIX + ".requests")
+                .description("GETs that went upstream on behalf of identical concurrent requests")
+                .tag("result", "leader")
+                .register(meterRegistry);
+        this.merged = Counter.builder(METRIC_PREFIX + ".requests")
+                .description("GETs answered with the response of an identical in-flight request")
+                .tag("result", "merged")
+                .register(meterRegistry);
+        this.unshared = Counter.builder(METRIC_PREFIX + ".requests")
+                .description("Waiting GETs that had to go upstream because the shared response was not replayable")
+                .tag("result", "unshared")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".in.flight", inFlight, Map::size)
+                .description("Distinct GETs currently being fetched")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || !HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+            return chain.filter(exchange);
+        }
+        VerifiedToken token = exchange.getAttribute(IdentityPropagationFilter.VERIFIED_TOKEN_ATTRIBUTE);
+        if (token == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = key(exchange, token);
+        Sinks.One<SharedResponse> sink = Sinks.one();
+        Sinks.One<SharedResponse> existing = inFlight.putIfAbsent(key, sink);
+
+        if (existing != null) {
+            return existing.asMono()
+                    .timeout(properties.getMaxWait(), Mono.just(SharedResponse.NONE))
+                    .flatMap(shared -> {
+                        if (shared == SharedResponse.NONE) {
+                            unshared.increment();
+                            return chain.filter(exchange);
+                        }
+                        merged.increment();
+                        return replay(exchange.getResponse(), shared);
+                    });
+        }
+
+        leaders.increment();
+        Recorder recorder = new Recorder(exchange.getResponse(), key, sink);
+        return chain.filter(exchange.mutate().response(recorder).build())
+                // errors, cancellation or a response written some other way: let the waiters go upstream
+                .doFinally(signal -> recorder.publish(SharedResponse.NONE));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    private static String key(ServerWebExchange exchange, VerifiedToken token) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        HttpHeaders headers = request.getHeaders();
+        return (route != null ? route.getId() : "") + '|'
+                + request.getURI().getRawPath() + '?' + request.getURI().getRawQuery() + '|'
+                + token.getUserId() + '|' + token.getEmail() + '|' + token.getRole() + '|'
+                + headers.getFirst(HttpHeaders.ACCEPT) + '|'
+                + headers.getFirst(HttpHeaders.IF_NONE_MATCH);
+    }
+
+    private static Mono<Void> replay(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status);
+        response.getHeaders().addAll(shared.headers);
+        if (shared.body.length == 0) {
+            return response.setComplete();
+        }
+        response.getHeaders().setContentLength(shared.body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body)));
+    }
+
+    /**
+     * Buffers the leader's response and hands it to the waiting requests.
+     */
+    private final class Recorder extends ServerHttpResponseDecorator {
+        private final String key;
+        private final Sinks.One<SharedResponse> sink;
+        private final long maxBodyBytes = properties.getMaxBodySize().toBytes();
+
+        Recorder(ServerHttpResponse delegate, String key, Sinks.One<SharedResponse> sink) {
+            super(delegate);
+            this.key = key;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (getHeaders().getContentLength() > maxBodyBytes) {
+                publish(SharedResponse.NONE);
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(Flux.from(body)).flatMap(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+
+                publish(bytes.length <= maxBodyBytes
+                        ? new SharedResponse(getStatusCode(), ReplayableHeaders.copyOf(getHeaders()), bytes)
+                        : SharedResponse.NONE);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            // streaming responses are not buffered
+            publish(SharedResponse.NONE);
+            return super.writeAndFlushWith(body);
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            publish(new SharedResponse(getStatusCode(), ReplayableHeaders.copyOf(getHeaders()), new byte[0]));
+            return super.setComplete();
+        }
+
+        /**
+         * Only the first call has an effect. The key is released first so later requests start a new call.
+         */
+        void publish(SharedResponse response) {
+            inFlight.remove(key, sink);
+            sink.tryEmitValue(response);
+        }
+    }
+
+    private static final class SharedResponse {
+        static final SharedResponse NONE = new SharedResponse(null, new HttpHeaders(), new byte[0]);
+
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package api.example.apigateway.filter;
+
+import api.example.shared.security.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-principal cache of successful GET responses, with ETags.
+ * Entries are keyed by route, path with query and the caller verified by {@link IdentityPropagationFilter},
+ * so one user is never served another's response; anonymous requests are not cached.
+ * Every response it passes carries an ETag and a matching {@code If-None-Match} is answered with 304.
+ * A successful PUT, POST, PATCH or DELETE on the route drops all of the route's entries.
+ * Place it first on the route so hits skip the circuit breaker and bulkhead.
+ * <pre>
+ * - name: ResponseCache
+ *   args:
+ *     ttl: 30s
+ *     maxSize: 32MB
+ * </pre>
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String METRIC_PREFIX = "gateway.response.cache";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final MeterRegistry meterRegistry;
+    /** One cache per route, kept across route refreshes. */
+    private final Map<String, RouteCache> caches = new ConcurrentHashMap<>();
+
+    public ResponseCacheGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl", "maxSize");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RouteCache routeCache = caches.computeIfAbsent(config.getRouteId(), routeId -> new RouteCache(routeId, config));
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            HttpMethod method = request.getMethod();
+
+            if (!HttpMethod.GET.equals(method)) {
+                if (HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)) {
+                    return chain.filter(exchange);
+                }
+                return chain.filter(exchange).doOnSuccess(done -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is2xxSuccessful()) {
+                        routeCache.cache.invalidateAll();
+                    }
+                });
+            }
+
+            VerifiedToken token = exchange.getAttribute(IdentityPropagationFilter.VERIFIED_TOKEN_ATTRIBUTE);
+            if (token == null) {
+                return chain.filter(exchange);
+            }
+
+            String key = request.getURI().getRawPath()
+                    + (request.getURI().getRawQuery() != null ? "?" + request.getURI().getRawQuery() : "")
+                    + '|' + token.getUserId() + '|' + token.getEmail() + '|' + token.getRole();
+            CachedResponse cached = routeCache.cache.getIfPresent(key);
+            if (cached != null) {
+                return routeCache.replay(exchange, cached);
+            }
+            return chain.filter(exchange.mutate().response(routeCache.recorder(exchange, key)).build());
+        };
+    }
+
+    private static String etag(byte[] body) {
+        byte[] digest = SHA_256.get().digest(body);
+        return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + '"';
+    }
+
+    /**
+     * Weak comparison as RFC 9110 requires for If-None-Match; handles lists and {@code *}.
+     */
+    private static boolean notModified(ServerHttpRequest request, String etag) {
+        String ifNoneMatch = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class RouteCache {
+        private final Cache<String, CachedResponse> cache;
+        private final long maxEntryBytes;
+        private final Counter upstreamBytesSaved;
+        private final Counter clientBytesSaved;
+
+        RouteCache(String routeId, Config config) {
+            this.maxEntryBytes = config.getMaxEntrySize().toBytes();
+            this.cache = Caffeine.newBuilder()
+                    .maximumWeight(config.getMaxSize().toBytes())
+                    .weigher((String key, CachedResponse value) -> value.body.length + key.length())
+                    .expireAfterWrite(config.getTtl())
+                    .recordStats()
+                    .build();
+
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, METRIC_PREFIX, "route", routeId);
+            Gauge.builder(METRIC_PREFIX + ".hit.ratio", cache, c -> c.stats().hitRate())
+                    .description("Share of authenticated GETs answered from the gateway cache")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+            this.upstreamBytesSaved = Counter.builder(METRIC_PREFIX + ".bytes.saved")
+                    .description("Response bytes not fetched from the service because of a cache hit")
+                    .baseUnit("bytes")
+                    .tag("route", routeId).tag("kind", "upstream")
+                    .register(meterRegistry);
+            this.clientBytesSaved = Counter.builder(METRIC_PREFIX + ".bytes.saved")
+                    .description("Response bytes not sent to the client because its ETag still matched")
+                    .baseUnit("bytes")
+                    .tag("route", routeId).tag("kind", "client")
+                    .register(meterRegistry);
+        }
+
+        Mono<Void> replay(ServerWebExchange exchange, CachedResponse cached) {
+            ServerHttpResponse response = exchange.getResponse();
+            upstreamBytesSaved.increment(cached.body.length);
+            response.getHeaders().addAll(cached.headers);
+            response.getHeaders().setETag(cached.etag);
+            response.getHeaders().set("X-Cache", "HIT");
+
+            if (notModified(exchange.getRequest(), cached.etag)) {
+                clientBytesSaved.increment(cached.body.length);
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                return response.setComplete();
+            }
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentLength(cached.body.length);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body)));
+        }
+
+        ServerHttpResponse recorder(ServerWebExchange exchange, String key) {
+            ServerHttpResponse original = exchange.getResponse();
+            return new ServerHttpResponseDecorator(original) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    HttpStatusCode status = getStatusCode();
+                    if (status == null || status.value() != HttpStatus.OK.value()) {
+                        return super.writeWith(body);
+                    }
+                    return DataBufferUtils.join(Flux.from(body)).flatMap(buffer -> {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        DataBufferUtils.release(buffer);
+
+                        String etag = etag(bytes);
+                        if (bytes.length <= maxEntryBytes) {
+                            cache.put(key, new CachedResponse(bytes, etag, ReplayableHeaders.copyOf(getHeaders())));
+                        }
+                        getHeaders().setETag(etag);
+                        getHeaders().set("X-Cache", "MISS");
+
+                        if (notModified(exchange.getRequest(), etag)) {
+                            clientBytesSaved.increment(bytes.length);
+                            getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                            setStatusCode(HttpStatus.NOT_MODIFIED);
+                            return getDelegate().setComplete();
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+                }
+            };
+        }
+    }
+
+    private static final class CachedResponse {
+        private final byte[] body;
+        private final String etag;
+        private final HttpHeaders headers;
+
+        CachedResponse(byte[] body, String etag, HttpHeaders headers) {
+            this.body = body;
+            this.etag = etag;
+            this.headers = headers;
+        }
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private Duration ttl = Duration.ofSeconds(30);
+        /** Total body bytes kept for the route. */
+        private DataSize maxSize = DataSize.ofMegabytes(32);
+        /** Larger responses are passed through uncached. */
+        private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+    }
+}
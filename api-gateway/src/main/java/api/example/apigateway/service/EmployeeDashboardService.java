@@ -0,0 +1,138 @@
+package api.example.apigateway.service;
+
+import api.example.apigateway.config.DashboardProperties;
+import api.example.apigateway.dto.EmployeeDashboard;
+import api.example.apigateway.dto.EmployeeDashboard.Section;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.circuitbreaker.NoFallbackAvailableException;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.cloud.client.loadbalancer.reactive.DeferringLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Builds {@link EmployeeDashboard} by calling the four backends at once, so the page takes as long as the
+ * slowest call rather than the sum of all four. Each call has its own timeout and goes through the circuit
+ * breaker of the matching gateway route. A failed call only marks its own section as failed.
+ * <p>
+ * As on the routes, only 5xx responses, timeouts and connection errors count against a breaker. A 4xx (an unknown
+ * or forbidden id) is the caller's problem: it becomes a failed section without the breaker seeing an error, so
+ * dashboard calls for bad ids cannot open the breaker for all routed traffic.
+ */
+@Slf4j
+@Service
+public class EmployeeDashboardService {
+
+    private static final String METRIC_PREFIX = "gateway.dashboard";
+
+    private enum Leg {
+        EMPLOYEE("employee", "lb://employee-service/api/employees/{id}", "employeeCircuitBreaker"),
+        LEAVES("leaves", "lb://leave-service/api/leaves/employee/{id}", "leaveCircuitBreaker"),
+        PAYROLL("payroll", "lb://payroll-service/api/payroll/employee/{id}", "payrollCircuitBreaker"),
+        PROJECTS("projects", "lb://project-service/api/projects/employee/{id}", "projectCircuitBreaker");
+
+        private final String section;
+        private final String uri;
+        private final String circuitBreaker;
+
+        Leg(String section, String uri, String circuitBreaker) {
+            this.section = section;
+            this.uri = uri;
+            this.circuitBreaker = circuitBreaker;
+        }
+    }
+
+    private final WebClient webClient;
+    private final ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory;
+    private final DashboardProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public EmployeeDashboardService(WebClient.Builder webClientBuilder,
+                                    DeferringLoadBalancerExchangeFilterFunction<?> loadBalancer,
+                                    ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory,
+                                    DashboardProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.webClient = webClientBuilder.clone().filter(loadBalancer).build();
+        this.circuitBreakerFactory = circuitBreakerFactory;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param headers sets the caller's credentials on each backend call
+     */
+    public Mono<EmployeeDashboard> getDashboard(Long employeeId, Consumer<HttpHeaders> headers) {
+        return Mono.zip(
+                fetch(Leg.EMPLOYEE, employeeId, headers),
+                fetch(Leg.LEAVES, employeeId, headers),
+                fetch(Leg.PAYROLL, employeeId, headers),
+                fetch(Leg.PROJECTS, employeeId, headers)
+        ).map(sections -> new EmployeeDashboard(sections.getT1(), sections.getT2(), sections.getT3(), sections.getT4()));
+    }
+
+    /**
+     * Never fails: errors and timeouts become a failed section.
+     */
+    private Mono<Section> fetch(Leg leg, Long employeeId, Consumer<HttpHeaders> headers) {
+        Mono<Section> call = webClient.get()
+                .uri(leg.uri, employeeId)
+                .headers(headers)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().is4xxClientError()) {
+                        int status = response.statusCode().value();
+                        return response.releaseBody()
+                                .thenReturn(Section.failed(Section.ERROR, status, leg.section + " returned " + status));
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.createError();
+                    }
+                    return response.bodyToMono(JsonNode.class)
+                            .map(Section::ok)
+                            .defaultIfEmpty(Section.ok(NullNode.getInstance()));
+                })
+                .timeout(properties.timeoutFor(leg.section));
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return circuitBreakerFactory.create(leg.circuitBreaker).run(call)
+                    .onErrorResume(e -> Mono.just(failed(leg, employeeId, e)))
+                    .doOnNext(section -> Timer.builder(METRIC_PREFIX + ".leg")
+                            .description("Latency of each backend call made for the employee dashboard")
+                            .tag("section", leg.section)
+                            .tag("outcome", section.getStatus())
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private static Section failed(Leg leg, Long employeeId, Throwable error) {
+        // the breaker wraps whatever the call failed with when no fallback is given
+        Throwable e = error instanceof NoFallbackAvailableException && error.getCause() != null ? error.getCause() : error;
+        if (e instanceof TimeoutException) {
+            log.warn("Dashboard {} for employee {} timed out", leg.section, employeeId);
+            return Section.failed(Section.TIMEOUT, null, leg.section + " did not respond in time");
+        }
+        if (e instanceof WebClientResponseException response) {
+            log.warn("Dashboard {} for employee {} failed: {}", leg.section, employeeId, response.getStatusCode());
+            return Section.failed(Section.ERROR, response.getStatusCode().value(),
+                    leg.section + " returned " + response.getStatusCode().value());
+        }
+        if (e instanceof CallNotPermittedException) {
+            return Section.failed(Section.ERROR, null, leg.section + " is currently unavailable");
+        }
+        log.warn("Dashboard {} for employee {} failed: {}", leg.section, employeeId, e.getMessage());
+        return Section.failed(Section.ERROR, null, leg.section + " is currently unavailable");
+    }
+}
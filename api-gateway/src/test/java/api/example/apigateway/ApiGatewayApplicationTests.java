@@ -3,7 +3,7 @@ package api.example.apigateway;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "jwt.gateway.identity-secret=test-identity-secret-that-is-at-least-256-bits")
 class ApiGatewayApplicationTests {
 
 	@Test
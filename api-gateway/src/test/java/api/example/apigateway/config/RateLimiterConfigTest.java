@@ -0,0 +1,36 @@
+package api.example.apigateway.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterConfigTest {
+
+    private final RateLimiterProperties properties = new RateLimiterProperties();
+
+    @Test
+    void keysAnonymousCallersBySocketAddressByDefault() {
+        RateLimiterConfig config = new RateLimiterConfig(properties);
+
+        assertThat(config.principalKeyResolver().resolve(exchange("203.0.113.7")).block()).isEqualTo("ip:198.51.100.1");
+    }
+
+    @Test
+    void takesTheEntryWrittenByTheTrustedProxy() {
+        properties.setTrustedProxies(1);
+        RateLimiterConfig config = new RateLimiterConfig(properties);
+
+        assertThat(config.principalKeyResolver().resolve(exchange("10.9.9.9, 203.0.113.7")).block())
+                .isEqualTo("ip:203.0.113.7");
+    }
+
+    private static MockServerWebExchange exchange(String forwardedFor) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/auth/login")
+                .remoteAddress(new InetSocketAddress("198.51.100.1", 40000))
+                .header("X-Forwarded-For", forwardedFor));
+    }
+}
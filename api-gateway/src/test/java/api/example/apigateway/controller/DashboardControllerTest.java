@@ -0,0 +1,97 @@
+package api.example.apigateway.controller;
+
+import api.example.apigateway.dto.EmployeeDashboard;
+import api.example.apigateway.dto.EmployeeDashboard.Section;
+import api.example.apigateway.service.EmployeeDashboardService;
+import api.example.shared.security.IdentityAssertion;
+import api.example.shared.security.JwtVerifier;
+import api.example.shared.security.VerifiedToken;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class DashboardControllerTest {
+
+    private static final String HEADER = "X-Authenticated-Identity";
+
+    private final EmployeeDashboardService dashboardService = mock(EmployeeDashboardService.class);
+    private final JwtVerifier jwtVerifier = mock(JwtVerifier.class);
+    private final IdentityAssertion identityAssertion =
+            new IdentityAssertion("test-identity-secret-that-is-at-least-256-bits");
+    private final DashboardController controller =
+            new DashboardController(dashboardService, jwtVerifier, identityAssertion);
+
+    DashboardControllerTest() {
+        when(jwtVerifier.getIdentityHeader()).thenReturn(HEADER);
+        when(jwtVerifier.verify("good")).thenReturn(
+                new VerifiedToken("jane@example.com", "EMPLOYEE", 7L, Instant.now().plusSeconds(60), "jti"));
+    }
+
+    @Test
+    void forwardsTheTokenAndASignedIdentity() {
+        EmployeeDashboard dashboard = dashboard(Section.ok(JsonNodeFactory.instance.objectNode()),
+                Section.failed(Section.TIMEOUT, null, "Timed out"));
+        when(dashboardService.getDashboard(eq(7L), any())).thenReturn(Mono.just(dashboard));
+
+        assertThat(controller.getEmployeeDashboard(7L, "Bearer good").block()).isSameAs(dashboard);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<HttpHeaders>> headers = ArgumentCaptor.forClass(Consumer.class);
+        verify(dashboardService).getDashboard(eq(7L), headers.capture());
+        HttpHeaders forwarded = new HttpHeaders();
+        headers.getValue().accept(forwarded);
+        assertThat(forwarded.getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer good");
+        assertThat(identityAssertion.verify(forwarded.getFirst(HEADER)).getUserId()).isEqualTo(7L);
+    }
+
+    @Test
+    void rejectsMissingOrInvalidTokensWithoutCallingTheBackends() {
+        assertStatus(() -> controller.getEmployeeDashboard(7L, null).block(), HttpStatus.UNAUTHORIZED);
+        assertStatus(() -> controller.getEmployeeDashboard(7L, "Bearer bad").block(), HttpStatus.UNAUTHORIZED);
+
+        verifyNoInteractions(dashboardService);
+    }
+
+    @Test
+    void clientErrorOnTheEmployeeFailsTheWholeCall() {
+        when(dashboardService.getDashboard(eq(7L), any())).thenReturn(Mono.just(
+                dashboard(Section.failed(Section.ERROR, 404, "Not Found"), Section.failed(Section.ERROR, 404, "Not Found"))));
+
+        assertStatus(() -> controller.getEmployeeDashboard(7L, "Bearer good").block(), HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void serverErrorOnTheEmployeeOnlyMarksItsSection() {
+        EmployeeDashboard dashboard = dashboard(Section.failed(Section.ERROR, 503, "Service Unavailable"),
+                Section.ok(JsonNodeFactory.instance.arrayNode()));
+        when(dashboardService.getDashboard(eq(7L), any())).thenReturn(Mono.just(dashboard));
+
+        assertThat(controller.getEmployeeDashboard(7L, "Bearer good").block()).isSameAs(dashboard);
+    }
+
+    private static EmployeeDashboard dashboard(Section employee, Section others) {
+        return new EmployeeDashboard(employee, others, others, others);
+    }
+
+    private static void assertStatus(Runnable call, HttpStatus status) {
+        assertThatThrownBy(call::run)
+                .isInstanceOfSatisfying(ResponseStatusException.class, e ->
+                        assertThat(e.getStatusCode()).isEqualTo(status));
+    }
+}
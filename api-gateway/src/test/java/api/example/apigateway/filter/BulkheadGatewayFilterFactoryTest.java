@@ -0,0 +1,109 @@
+package api.example.apigateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadGatewayFilterFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BulkheadGatewayFilterFactory factory = new BulkheadGatewayFilterFactory(meterRegistry);
+    private final List<Sinks.Empty<Void>> inFlight = new ArrayList<>();
+
+    @Test
+    void rejectsOnceTheRouteIsAtItsLimit() {
+        GatewayFilter filter = factory.apply(config(2));
+        hold(filter);
+        hold(filter);
+
+        assertThatThrownBy(() -> filter.filter(exchange(), exchange -> Mono.empty()).block())
+                .isInstanceOf(BulkheadFullException.class);
+        assertThat(rejected()).isEqualTo(1);
+
+        finishAll();
+        assertThat(available()).isEqualTo(2);
+        filter.filter(exchange(), exchange -> Mono.empty()).block();
+        assertThat(rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledRequestsGiveTheirPermitBack() {
+        GatewayFilter filter = factory.apply(config(1));
+
+        Disposable request = hold(filter);
+        assertThat(available()).isZero();
+        request.dispose();
+
+        assertThat(available()).isEqualTo(1);
+    }
+
+    @Test
+    void shrinkingWaitsForRequestsInFlight() {
+        GatewayFilter before = factory.apply(config(2));
+        hold(before);
+        hold(before);
+
+        GatewayFilter after = factory.apply(config(1));
+        assertThat(available()).isEqualTo(-1);
+        assertThatThrownBy(() -> after.filter(exchange(), exchange -> Mono.empty()).block())
+                .isInstanceOf(BulkheadFullException.class);
+
+        finishAll();
+        assertThat(available()).isEqualTo(1);
+    }
+
+    @Test
+    void growingTakesEffectAtOnce() {
+        GatewayFilter before = factory.apply(config(1));
+        hold(before);
+
+        GatewayFilter after = factory.apply(config(3));
+
+        assertThat(available()).isEqualTo(2);
+        hold(after);
+        hold(after);
+        assertThatThrownBy(() -> after.filter(exchange(), exchange -> Mono.empty()).block())
+                .isInstanceOf(BulkheadFullException.class);
+    }
+
+    private Disposable hold(GatewayFilter filter) {
+        Sinks.Empty<Void> response = Sinks.empty();
+        inFlight.add(response);
+        return filter.filter(exchange(), exchange -> response.asMono()).subscribe();
+    }
+
+    private void finishAll() {
+        inFlight.forEach(Sinks.Empty::tryEmitEmpty);
+        inFlight.clear();
+    }
+
+    private double available() {
+        return meterRegistry.get("gateway.bulkhead.available").tag("name", "payroll").gauge().value();
+    }
+
+    private double rejected() {
+        return meterRegistry.get("gateway.bulkhead.rejected").tag("name", "payroll").counter().count();
+    }
+
+    private static BulkheadGatewayFilterFactory.Config config(int maxConcurrentCalls) {
+        BulkheadGatewayFilterFactory.Config config = new BulkheadGatewayFilterFactory.Config();
+        config.setName("payroll");
+        config.setMaxConcurrentCalls(maxConcurrentCalls);
+        return config;
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/payroll"));
+    }
+}
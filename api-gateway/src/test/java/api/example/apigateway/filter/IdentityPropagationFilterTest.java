@@ -0,0 +1,78 @@
+package api.example.apigateway.filter;
+
+import api.example.shared.security.IdentityAssertion;
+import api.example.shared.security.JwtVerifier;
+import api.example.shared.security.VerifiedToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdentityPropagationFilterTest {
+
+    private static final String HEADER = "X-Authenticated-Identity";
+
+    private final JwtVerifier jwtVerifier = mock(JwtVerifier.class);
+    private final IdentityAssertion identityAssertion =
+            new IdentityAssertion("test-identity-secret-that-is-at-least-256-bits");
+    private final IdentityPropagationFilter filter = new IdentityPropagationFilter(jwtVerifier, identityAssertion);
+
+    IdentityPropagationFilterTest() {
+        when(jwtVerifier.getIdentityHeader()).thenReturn(HEADER);
+    }
+
+    @Test
+    void assertsTheIdentityOfAVerifiedToken() {
+        VerifiedToken token = new VerifiedToken("jane@example.com", "EMPLOYEE", 7L, Instant.now().plusSeconds(60), "jti");
+        when(jwtVerifier.verify("good")).thenReturn(token);
+
+        ServerWebExchange forwarded = filter(MockServerHttpRequest.get("/api/employees")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer good"));
+
+        VerifiedToken asserted = identityAssertion.verify(forwarded.getRequest().getHeaders().getFirst(HEADER));
+        assertThat(asserted.getEmail()).isEqualTo("jane@example.com");
+        assertThat(asserted.getUserId()).isEqualTo(7L);
+        assertThat(forwarded.<VerifiedToken>getAttribute(IdentityPropagationFilter.VERIFIED_TOKEN_ATTRIBUTE))
+                .isSameAs(token);
+    }
+
+    @Test
+    void stripsAnIdentityHeaderSentByTheClient() {
+        ServerWebExchange forwarded = filter(MockServerHttpRequest.get("/api/employees")
+                .header(HEADER, "forged"));
+
+        assertThat(forwarded.getRequest().getHeaders().containsKey(HEADER)).isFalse();
+    }
+
+    @Test
+    void forwardsInvalidTokensWithoutAnIdentity() {
+        when(jwtVerifier.verify("bad")).thenReturn(null);
+
+        ServerWebExchange forwarded = filter(MockServerHttpRequest.get("/api/employees")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer bad")
+                .header(HEADER, "forged"));
+
+        assertThat(forwarded.getRequest().getHeaders().containsKey(HEADER)).isFalse();
+        assertThat(forwarded.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer bad");
+        assertThat(forwarded.getAttributes()).doesNotContainKey(IdentityPropagationFilter.VERIFIED_TOKEN_ATTRIBUTE);
+    }
+
+    private ServerWebExchange filter(MockServerHttpRequest.BaseBuilder<?> request) {
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        filter.filter(MockServerWebExchange.from(request), exchange -> {
+            forwarded.set(exchange);
+            return Mono.empty();
+        }).block();
+        return forwarded.get();
+    }
+}
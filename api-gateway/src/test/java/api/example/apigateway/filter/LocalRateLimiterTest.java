@@ -0,0 +1,185 @@
+package api.example.apigateway.filter;
+
+import api.example.apigateway.config.RateLimiterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LocalRateLimiterTest {
+
+    private static final String ROUTE = "employees";
+
+    private final RateLimiterProperties properties = new RateLimiterProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LocalRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        // the tests sweep by hand
+        properties.setSweepInterval(Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (limiter != null) {
+            limiter.close();
+        }
+    }
+
+    @Test
+    void allowsTheBurstThenRejectsWithRetryAfter() {
+        LocalRateLimiter limiter = limiter(config(3, 1, Duration.ofMinutes(1)));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(isAllowed(limiter, "alice").isAllowed()).isTrue();
+        }
+        Response rejected = isAllowed(limiter, "alice");
+
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getHeaders())
+                .containsEntry(LocalRateLimiter.LIMIT_HEADER, "3")
+                .containsEntry(LocalRateLimiter.REMAINING_HEADER, "0")
+                .containsKey(LocalRateLimiter.RETRY_AFTER_HEADER);
+        assertThat(isAllowed(limiter, "bob").isAllowed()).isTrue();
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        LocalRateLimiter limiter = limiter(config(1, 1, Duration.ofMillis(20)));
+
+        assertThat(isAllowed(limiter, "alice").isAllowed()).isTrue();
+        assertThat(isAllowed(limiter, "alice").isAllowed()).isFalse();
+        Thread.sleep(50);
+        assertThat(isAllowed(limiter, "alice").isAllowed()).isTrue();
+    }
+
+    @Test
+    void sweepDropsOnlyRefilledBuckets() throws InterruptedException {
+        LocalRateLimiter limiter = limiter(config(100, 100, Duration.ofMillis(10)));
+
+        isAllowed(limiter, "idle");
+        for (int i = 0; i < 100; i++) {
+            isAllowed(limiter, "busy");
+        }
+        Thread.sleep(5);
+        isAllowed(limiter, "busy");
+        limiter.sweep();
+
+        // idle refilled within a millisecond; busy needs ten and was charged again
+        assertThat(keys()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsNewCallersWhenTheRouteIsFull() {
+        properties.setMaxKeys(2);
+        LocalRateLimiter limiter = limiter(config(1, 1, Duration.ofHours(1)));
+
+        isAllowed(limiter, "alice");
+        isAllowed(limiter, "bob");
+
+        Response overflow = isAllowed(limiter, "carol");
+        assertThat(overflow.isAllowed()).isFalse();
+        assertThat(overflow.getHeaders()).containsKey(LocalRateLimiter.RETRY_AFTER_HEADER);
+        assertThat(isAllowed(limiter, "carol").isAllowed()).isFalse();
+        assertThat(isAllowed(limiter, "alice").isAllowed()).isFalse();
+        assertThat(meterRegistry.get("gateway.rate.limiter.overflow").counter().count()).isEqualTo(2);
+        assertThat(keys()).isEqualTo(2);
+    }
+
+    @Test
+    void overflowBringsTheSweepForward() throws InterruptedException {
+        properties.setMaxKeys(2);
+        LocalRateLimiter limiter = limiter(config(2, 1, Duration.ofMillis(10)));
+
+        isAllowed(limiter, "alice");
+        isAllowed(limiter, "bob");
+        Thread.sleep(1100);
+
+        // both buckets have refilled; the rejected caller asks the sweeper to make room
+        assertThat(isAllowed(limiter, "carol").isAllowed()).isFalse();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (keys() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(isAllowed(limiter, "carol").isAllowed()).isTrue();
+    }
+
+    @Test
+    void neverAllowsMoreThanTheBurstWhileSweeping() throws InterruptedException {
+        int burst = 20;
+        LocalRateLimiter limiter = limiter(config(burst, 1, Duration.ofHours(1)));
+        ExecutorService pool = Executors.newFixedThreadPool(9);
+        AtomicBoolean running = new AtomicBoolean(true);
+        pool.execute(() -> {
+            while (running.get()) {
+                limiter.sweep();
+            }
+        });
+        try {
+            for (int round = 0; round < 50; round++) {
+                String key = "caller-" + round;
+                AtomicInteger allowed = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                CountDownLatch done = new CountDownLatch(8);
+                for (int t = 0; t < 8; t++) {
+                    pool.execute(() -> {
+                        try {
+                            start.await();
+                            for (int i = 0; i < 10; i++) {
+                                if (isAllowed(limiter, key).isAllowed()) {
+                                    allowed.incrementAndGet();
+                                }
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            done.countDown();
+                        }
+                    });
+                }
+                start.countDown();
+                assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+                assertThat(allowed.get()).as("round %d", round).isEqualTo(burst);
+            }
+        } finally {
+            running.set(false);
+            pool.shutdownNow();
+        }
+    }
+
+    private LocalRateLimiter limiter(LocalRateLimiter.Config config) {
+        limiter = new LocalRateLimiter(mock(ConfigurationService.class), properties, meterRegistry);
+        limiter.getConfig().put(ROUTE, config);
+        return limiter;
+    }
+
+    private static LocalRateLimiter.Config config(int burstCapacity, int replenishRate, Duration replenishPeriod) {
+        LocalRateLimiter.Config config = new LocalRateLimiter.Config();
+        config.setBurstCapacity(burstCapacity);
+        config.setReplenishRate(replenishRate);
+        config.setReplenishPeriod(replenishPeriod);
+        return config;
+    }
+
+    private static Response isAllowed(LocalRateLimiter limiter, String id) {
+        return limiter.isAllowed(ROUTE, id).block();
+    }
+
+    private double keys() {
+        return meterRegistry.get("gateway.rate.limiter.keys").gauge().value();
+    }
+}
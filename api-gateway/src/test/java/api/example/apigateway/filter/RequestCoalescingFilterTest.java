@@ -0,0 +1,142 @@
+package api.example.apigateway.filter;
+
+import api.example.apigateway.config.CoalescingProperties;
+import api.example.shared.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescingFilterTest {
+
+    private static final VerifiedToken JANE = token(7L, "jane@example.com");
+    private static final VerifiedToken JOHN = token(8L, "john@example.com");
+
+    private final CoalescingProperties properties = new CoalescingProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescingFilter filter = new RequestCoalescingFilter(properties, meterRegistry);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void identicalConcurrentGetsShareOneUpstreamCall() {
+        Sinks.Empty<Void> gate = Sinks.empty();
+        MockServerWebExchange leader = get(JANE);
+        MockServerWebExchange follower = get(JANE);
+
+        filter.filter(leader, respondAfter(gate, "[1,2,3]")).subscribe();
+        filter.filter(follower, respondAfter(Sinks.empty(), "never")).subscribe();
+        gate.tryEmitEmpty();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("[1,2,3]");
+        assertThat(follower.getResponse().getHeaders().getFirst("X-Upstream")).isEqualTo("employee-service");
+        assertThat(follower.getResponse().getHeaders().containsKey(HttpHeaders.SET_COOKIE)).isFalse();
+        assertThat(leader.getResponse().getBodyAsString().block()).isEqualTo("[1,2,3]");
+        assertThat(requests("merged")).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.coalescing.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void differentCallersAreNotMerged() {
+        Sinks.Empty<Void> gate = Sinks.empty();
+
+        filter.filter(get(JANE), respondAfter(gate, "jane")).subscribe();
+        MockServerWebExchange john = get(JOHN);
+        filter.filter(john, respond("john")).block();
+        gate.tryEmitEmpty();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(john.getResponse().getBodyAsString().block()).isEqualTo("john");
+    }
+
+    @Test
+    void waitersGoUpstreamWhenTheSharedCallFails() {
+        Sinks.Empty<Void> gate = Sinks.empty();
+        MockServerWebExchange follower = get(JANE);
+
+        filter.filter(get(JANE), exchange -> {
+            upstreamCalls.incrementAndGet();
+            return gate.asMono().then(Mono.error(new IllegalStateException("connection reset")));
+        }).subscribe(null, error -> { });
+        filter.filter(follower, respond("own call")).subscribe();
+        gate.tryEmitEmpty();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("own call");
+        assertThat(requests("unshared")).isEqualTo(1);
+    }
+
+    @Test
+    void waitersGoUpstreamWhenTheResponseIsTooLarge() {
+        properties.setMaxBodySize(DataSize.ofBytes(4));
+        Sinks.Empty<Void> gate = Sinks.empty();
+        MockServerWebExchange follower = get(JANE);
+
+        filter.filter(get(JANE), respondAfter(gate, "too large to share")).subscribe();
+        filter.filter(follower, respond("own call")).subscribe();
+        gate.tryEmitEmpty();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("own call");
+    }
+
+    @Test
+    void waitersStopWaitingAfterMaxWait() {
+        properties.setMaxWait(Duration.ofMillis(20));
+        MockServerWebExchange follower = get(JANE);
+
+        filter.filter(get(JANE), respondAfter(Sinks.empty(), "stuck")).subscribe();
+        filter.filter(follower, respond("own call")).block(Duration.ofSeconds(5));
+
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("own call");
+        assertThat(requests("unshared")).isEqualTo(1);
+    }
+
+    private GatewayFilterChain respond(String body) {
+        return respondAfter(null, body);
+    }
+
+    private GatewayFilterChain respondAfter(Sinks.Empty<Void> gate, String body) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            Mono<Void> write = Mono.defer(() -> {
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.OK);
+                response.getHeaders().set("X-Upstream", "employee-service");
+                response.getHeaders().set(HttpHeaders.SET_COOKIE, "session=leader");
+                return response.writeWith(Mono.just(
+                        response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+            });
+            return gate == null ? write : gate.asMono().then(write);
+        };
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("gateway.coalescing.requests").tag("result", result).counter().count();
+    }
+
+    private static MockServerWebExchange get(VerifiedToken token) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/employees?page=0"));
+        exchange.getAttributes().put(IdentityPropagationFilter.VERIFIED_TOKEN_ATTRIBUTE, token);
+        return exchange;
+    }
+
+    private static VerifiedToken token(Long userId, String email) {
+        return new VerifiedToken(email, "EMPLOYEE", userId, Instant.now().plusSeconds(60), "jti-" + userId);
+    }
+}
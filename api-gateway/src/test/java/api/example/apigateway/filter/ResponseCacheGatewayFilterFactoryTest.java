@@ -0,0 +1,149 @@
+package api.example.apigateway.filter;
+
+import api.example.shared.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private static final VerifiedToken JANE = token(7L, "jane@example.com");
+    private static final VerifiedToken JOHN = token(8L, "john@example.com");
+
+    private final ResponseCacheGatewayFilterFactory factory =
+            new ResponseCacheGatewayFilterFactory(new SimpleMeterRegistry());
+    private final GatewayFilter filter = factory.apply(config());
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void servesRepeatGetsFromTheCacheWithTheSameETag() {
+        MockServerWebExchange miss = get(JANE, null);
+        filter.filter(miss, respond(HttpStatus.OK, "[1,2,3]")).block();
+        MockServerWebExchange hit = get(JANE, null);
+        filter.filter(hit, respond(HttpStatus.OK, "[1,2,3]")).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(miss.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(hit.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(hit.getResponse().getHeaders().getETag()).isEqualTo(miss.getResponse().getHeaders().getETag());
+        assertThat(hit.getResponse().getBodyAsString().block()).isEqualTo("[1,2,3]");
+    }
+
+    @Test
+    void answersAMatchingIfNoneMatchWith304() {
+        MockServerWebExchange first = get(JANE, null);
+        filter.filter(first, respond(HttpStatus.OK, "[1,2,3]")).block();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange revalidated = get(JANE, "\"other\", W/" + etag);
+        filter.filter(revalidated, respond(HttpStatus.OK, "[1,2,3]")).block();
+        MockServerWebExchange changed = get(JANE, "\"other\"");
+        filter.filter(changed, respond(HttpStatus.OK, "[1,2,3]")).block();
+
+        assertThat(revalidated.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(revalidated.getResponse().getBodyAsString().block()).isEmpty();
+        assertThat(changed.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getResponse().getBodyAsString().block()).isEqualTo("[1,2,3]");
+    }
+
+    @Test
+    void answersAMatchingIfNoneMatchWith304OnAMissToo() {
+        MockServerWebExchange first = get(JANE, null);
+        new ResponseCacheGatewayFilterFactory(new SimpleMeterRegistry()).apply(config())
+                .filter(first, respond(HttpStatus.OK, "[1,2,3]")).block();
+
+        MockServerWebExchange revalidated = get(JANE, first.getResponse().getHeaders().getETag());
+        filter.filter(revalidated, respond(HttpStatus.OK, "[1,2,3]")).block();
+
+        assertThat(revalidated.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(revalidated.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+    }
+
+    @Test
+    void neverServesOneCallerAnothersResponse() {
+        filter.filter(get(JANE, null), respond(HttpStatus.OK, "jane")).block();
+        MockServerWebExchange john = get(JOHN, null);
+        filter.filter(john, respond(HttpStatus.OK, "john")).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(john.getResponse().getBodyAsString().block()).isEqualTo("john");
+    }
+
+    @Test
+    void skipsAnonymousRequestsAndNonOkResponses() {
+        filter.filter(get(null, null), respond(HttpStatus.OK, "public")).block();
+        filter.filter(get(null, null), respond(HttpStatus.OK, "public")).block();
+        filter.filter(get(JANE, null), respond(HttpStatus.NOT_FOUND, "missing")).block();
+        filter.filter(get(JANE, null), respond(HttpStatus.NOT_FOUND, "missing")).block();
+
+        assertThat(upstreamCalls).hasValue(4);
+    }
+
+    @Test
+    void successfulWritesDropTheRoutesEntries() {
+        filter.filter(get(JANE, null), respond(HttpStatus.OK, "before")).block();
+
+        filter.filter(write(), respond(HttpStatus.BAD_REQUEST, "invalid")).block();
+        filter.filter(get(JANE, null), respond(HttpStatus.OK, "after")).block();
+        assertThat(upstreamCalls).hasValue(2);
+
+        filter.filter(write(), respond(HttpStatus.CREATED, "created")).block();
+        MockServerWebExchange refreshed = get(JANE, null);
+        filter.filter(refreshed, respond(HttpStatus.OK, "after")).block();
+        assertThat(upstreamCalls).hasValue(4);
+        assertThat(refreshed.getResponse().getBodyAsString().block()).isEqualTo("after");
+    }
+
+    private GatewayFilterChain respond(HttpStatus status, String body) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(status);
+            return response.writeWith(Mono.just(
+                    response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private static MockServerWebExchange get(VerifiedToken token, String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/employees?page=0");
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        if (token != null) {
+            exchange.getAttributes().put(IdentityPropagationFilter.VERIFIED_TOKEN_ATTRIBUTE, token);
+        }
+        return exchange;
+    }
+
+    private static MockServerWebExchange write() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.method(HttpMethod.POST, "/api/employees"));
+        exchange.getAttributes().put(IdentityPropagationFilter.VERIFIED_TOKEN_ATTRIBUTE, JANE);
+        return exchange;
+    }
+
+    private static ResponseCacheGatewayFilterFactory.Config config() {
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setRouteId("employee-service");
+        return config;
+    }
+
+    private static VerifiedToken token(Long userId, String email) {
+        return new VerifiedToken(email, "EMPLOYEE", userId, Instant.now().plusSeconds(60), "jti-" + userId);
+    }
+}
@@ -0,0 +1,95 @@
+package api.example.apigateway.service;
+
+import api.example.apigateway.config.DashboardProperties;
+import api.example.apigateway.dto.EmployeeDashboard;
+import api.example.apigateway.dto.EmployeeDashboard.Section;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.loadbalancer.reactive.DeferringLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeDashboardServiceTest {
+
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+    private final DashboardProperties properties = new DashboardProperties();
+
+    @Test
+    void clientErrorsFailTheSectionWithoutCountingAgainstTheBreaker() {
+        EmployeeDashboard dashboard = dashboard(path -> path.startsWith("/api/employees/")
+                ? respond(HttpStatus.NOT_FOUND) : json("[]"));
+
+        assertThat(dashboard.getEmployee().getStatus()).isEqualTo(Section.ERROR);
+        assertThat(dashboard.getEmployee().getHttpStatus()).isEqualTo(404);
+        assertThat(dashboard.getLeaves().isOk()).isTrue();
+        assertThat(breaker("employeeCircuitBreaker").getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    void serverErrorsCountAgainstTheBreaker() {
+        EmployeeDashboard dashboard = dashboard(path -> path.startsWith("/api/payroll/")
+                ? respond(HttpStatus.SERVICE_UNAVAILABLE) : json("{}"));
+
+        assertThat(dashboard.getPayroll().getHttpStatus()).isEqualTo(503);
+        assertThat(dashboard.getEmployee().isOk()).isTrue();
+        assertThat(breaker("payrollCircuitBreaker").getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void slowBackendTimesOutItsOwnSection() {
+        properties.getTimeouts().put("projects", Duration.ofMillis(50));
+
+        EmployeeDashboard dashboard = dashboard(path -> path.startsWith("/api/projects/")
+                ? json("[]").delayElement(Duration.ofSeconds(1)) : json("[]"));
+
+        assertThat(dashboard.getProjects().getStatus()).isEqualTo(Section.TIMEOUT);
+        assertThat(dashboard.getLeaves().isOk()).isTrue();
+    }
+
+    private EmployeeDashboard dashboard(Function<String, Mono<ClientResponse>> backend) {
+        ExchangeFunction exchange = request -> backend.apply(request.url().getPath());
+        // stands in for the load balancer: the URI is already resolved
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ExchangeFilterFunction> passThrough = mock(ObjectProvider.class);
+        when(passThrough.getIfAvailable()).thenReturn((request, next) -> next.exchange(request));
+        DeferringLoadBalancerExchangeFilterFunction<?> loadBalancer = new DeferringLoadBalancerExchangeFilterFunction<>(passThrough);
+
+        EmployeeDashboardService service = new EmployeeDashboardService(WebClient.builder().exchangeFunction(exchange),
+                loadBalancer, new ReactiveResilience4JCircuitBreakerFactory(circuitBreakers, TimeLimiterRegistry.ofDefaults()),
+                properties, new SimpleMeterRegistry());
+        return service.getDashboard(7L, headers -> { }).block();
+    }
+
+    private CircuitBreaker breaker(String name) {
+        return circuitBreakers.circuitBreaker(name);
+    }
+
+    private static Mono<ClientResponse> respond(HttpStatus status) {
+        return Mono.just(ClientResponse.create(status).build());
+    }
+
+    private static Mono<ClientResponse> json(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+}
@@ -0,0 +1,21 @@
+package api.example.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "email.outbox")
+public class EmailOutboxProperties {
+
+    private Duration pollInterval = Duration.ofSeconds(1);
+    /** Emails sent over one SMTP connection per poll. */
+    private int batchSize = 50;
+    private int maxAttempts = 5;
+    /** Delay before the first retry; doubled for every further attempt. */
+    private Duration initialBackoff = Duration.ofSeconds(10);
+    private Duration maxBackoff = Duration.ofMinutes(15);
+    /** How long sent emails are kept, with their bodies cleared, before they are purged. */
+    private Duration retention = Duration.ofDays(7);
+}
@@ -0,0 +1,22 @@
+package api.example.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "otp")
+public class OtpProperties {
+
+    /** {@code memory} (default) or {@code jpa} to keep OTPs on the users row. */
+    private String store = "memory";
+    private int length = 6;
+    private Duration ttl = Duration.ofMinutes(10);
+    /** Wrong guesses allowed before the OTP is discarded. Not enforced by the jpa store. */
+    private int maxAttempts = 5;
+    /** Resolution of the expiry wheel of the in-memory store. */
+    private Duration tick = Duration.ofSeconds(1);
+    /** Lock stripes of the in-memory store. */
+    private int stripes = 64;
+}
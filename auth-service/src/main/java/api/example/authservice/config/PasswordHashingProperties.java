@@ -0,0 +1,22 @@
+package api.example.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "auth.password-hashing")
+public class PasswordHashingProperties {
+
+    /** Hashing threads; defaults to the number of CPUs. */
+    private int threads = Runtime.getRuntime().availableProcessors();
+    /** Hashes allowed to wait for a thread before requests are rejected with 503. */
+    private int queueCapacity = 64;
+    /** Longest a request waits for its hash, queueing included. */
+    private Duration maxWait = Duration.ofSeconds(2);
+    /** BCrypt cost is raised at startup until one hash takes about this long. */
+    private Duration targetTime = Duration.ofMillis(250);
+    private int minStrength = 10;
+    private int maxStrength = 14;
+}
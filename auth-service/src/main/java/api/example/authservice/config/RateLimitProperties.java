@@ -0,0 +1,45 @@
+package api.example.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "auth.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    /** Buckets tracked per key type; roughly 32 bytes each, allocated up front. */
+    private int maxKeys = 1_000_000;
+    private int stripes = 64;
+    /** How often buckets that have refilled completely are dropped. */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+    /** Per client IP, for each endpoint. */
+    private Limit ip = new Limit(20, Duration.ofMinutes(1));
+    /** Per email address, for each endpoint. */
+    private Limit email = new Limit(5, Duration.ofMinutes(1));
+    /**
+     * Addresses or CIDR ranges of the api-gateway. X-Forwarded-For is only read on requests from these;
+     * anyone else is keyed by the socket address, since they could have written the header themselves.
+     */
+    private List<String> trustedProxies = new ArrayList<>();
+
+    @Data
+    public static class Limit {
+        /** Burst size. */
+        private int capacity;
+        /** Time for an empty bucket to refill completely. */
+        private Duration refillPeriod;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, Duration refillPeriod) {
+            this.capacity = capacity;
+            this.refillPeriod = refillPeriod;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package api.example.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "jwt.signing")
+public class SigningKeyProperties {
+
+    /** {@code ES256} (default) signs with rotating key pairs; {@code HS256} keeps signing with {@code jwt.secret}. */
+    private String algorithm = "ES256";
+    /** How long each key signs before the next one takes over. */
+    private Duration rotationInterval = Duration.ofDays(30);
+    /**
+     * How long a new key is published before it signs anything; must exceed {@code jwt.jwks.refresh-interval}
+     * so every service knows the key before it sees a token signed with it.
+     */
+    private Duration activationDelay = Duration.ofMinutes(15);
+    /** How often the key table is checked for rotation and reloaded, which also picks up keys created by other instances. */
+    private Duration checkInterval = Duration.ofMinutes(1);
+
+    public boolean isAsymmetric() {
+        return !"HS256".equalsIgnoreCase(algorithm);
+    }
+}
@@ -1,18 +1,31 @@
 package api.example.authservice.controller;
 
 import api.example.authservice.dto.*;
+import api.example.authservice.security.LoginRateLimiter;
+import api.example.authservice.security.SigningKeyManager;
 import api.example.authservice.service.AuthService;
+import api.example.authservice.service.TokenService;
+import api.example.shared.dto.JwkSet;
+import api.example.shared.dto.RevocationsResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
     private final AuthService authService;
+    private final TokenService tokenService;
+    private final LoginRateLimiter rateLimiter;
+    private final SigningKeyManager signingKeyManager;
 
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
@@ -20,7 +33,9 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
+                                              HttpServletRequest httpRequest) {
+        rateLimiter.check("login", httpRequest, request.getEmail());
         return ResponseEntity.ok(authService.login(request));
     }
 
@@ -30,7 +45,8 @@ public class AuthController {
     }
 
     @PostMapping("/resend-otp")
-    public ResponseEntity<MessageResponse> resendOtp(@RequestParam String email) {
+    public ResponseEntity<MessageResponse> resendOtp(@RequestParam String email, HttpServletRequest httpRequest) {
+        rateLimiter.check("resend-otp", httpRequest, email);
         return ResponseEntity.ok(authService.resendOtp(email));
     }
 
@@ -40,7 +56,9 @@ public class AuthController {
     }
 
     @PostMapping("/forgot-password")
-    public ResponseEntity<MessageResponse> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request) {
+    public ResponseEntity<MessageResponse> forgotPassword(@Valid @RequestBody ForgotPasswordRequest request,
+                                                         HttpServletRequest httpRequest) {
+        rateLimiter.check("forgot-password", httpRequest, request.getEmail());
         return ResponseEntity.ok(authService.forgotPassword(request));
     }
 
@@ -54,10 +72,33 @@ public class AuthController {
         return ResponseEntity.ok(authService.validateToken(token));
     }
 
+    @PostMapping("/validate-tokens")
+    public ResponseEntity<List<TokenValidationResponse>> validateTokens(
+            @Valid @RequestBody BatchTokenValidationRequest request) {
+        return ResponseEntity.ok(authService.validateTokens(request.getTokens()));
+    }
+
     @PostMapping("/logout")
-    public ResponseEntity<MessageResponse> logout() {
-        // In stateless JWT, logout is handled client-side
-        // But you can implement token blacklisting if needed
-        return ResponseEntity.ok(new MessageResponse("Logged out successfully"));
+    public ResponseEntity<MessageResponse> logout(@RequestHeader("Authorization") String authorization) {
+        String token = authorization.startsWith("Bearer ") ? authorization.substring(7) : authorization;
+        return ResponseEntity.ok(authService.logout(token));
+    }
+
+    /**
+     * Public signing keys; services cache them and refresh in the background.
+     */
+    @GetMapping("/jwks")
+    public ResponseEntity<JwkSet> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                .body(signingKeyManager.fetch());
+    }
+
+    /**
+     * Denylist feed polled by every service's revocation syncer; {@code since} is the cursor from the previous page.
+     */
+    @GetMapping("/revocations")
+    public ResponseEntity<RevocationsResponse> getRevocations(@RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(tokenService.getRevocations(since));
     }
 }
\ No newline at end of file
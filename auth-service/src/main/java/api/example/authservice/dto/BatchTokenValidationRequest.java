@@ -0,0 +1,14 @@
+package api.example.authservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchTokenValidationRequest {
+    @NotEmpty(message = "At least one token is required")
+    @Size(max = 500, message = "At most 500 tokens can be validated per request")
+    private List<String> tokens;
+}
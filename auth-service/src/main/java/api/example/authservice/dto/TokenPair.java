@@ -0,0 +1,15 @@
+package api.example.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TokenPair {
+    private String accessToken;
+    private String refreshToken;
+    /** The identity both tokens were issued for, so callers need not parse them back. */
+    private String email;
+    private String role;
+    private Long userId;
+}
@@ -0,0 +1,47 @@
+package api.example.authservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * An ES256 key pair used to sign tokens. A key is published as soon as it is created,
+ * signs from {@code activatesAt} until the next key activates, and stays published
+ * until the tokens it signed have expired.
+ * The private key is stored unencrypted, so this table needs the protection the shared secret used to have.
+ */
+@Entity
+@Table(name = "signing_keys", indexes = {
+        @Index(name = "idx_signing_key_expires", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SigningKey {
+
+    /** The {@code kid} header of the tokens this key signs. */
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    /** Base64 X.509 SubjectPublicKeyInfo. */
+    @Column(name = "public_key", nullable = false, columnDefinition = "TEXT")
+    private String publicKey;
+
+    /** Base64 PKCS#8. */
+    @Column(name = "private_key", nullable = false, columnDefinition = "TEXT")
+    private String privateKey;
+
+    @Column(name = "activates_at", nullable = false)
+    private Instant activatesAt;
+
+    /** When the next key should take over. */
+    @Column(name = "retires_at", nullable = false)
+    private Instant retiresAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
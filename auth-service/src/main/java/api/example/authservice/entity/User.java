@@ -1,5 +1,6 @@
 package api.example.authservice.entity;
 
+import api.example.authservice.security.UserCacheEvictionListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -14,6 +15,7 @@ import java.time.LocalDateTime;
         @Index(name = "idx_email", columnList = "email"),
         @Index(name = "idx_role", columnList = "role")
 })
+@EntityListeners(UserCacheEvictionListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,21 @@
+package api.example.authservice.repository;
+
+import api.example.authservice.entity.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+
+    List<SigningKey> findByExpiresAtAfterOrderByActivatesAtAsc(Instant now);
+
+    @Modifying
+    @Query("DELETE FROM SigningKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
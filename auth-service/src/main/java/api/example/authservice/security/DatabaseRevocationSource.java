@@ -0,0 +1,22 @@
+package api.example.authservice.security;
+
+import api.example.authservice.service.TokenService;
+import api.example.shared.dto.RevocationsResponse;
+import api.example.shared.security.RevocationSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Auth-service owns the denylist, so its own verifier reads the table directly instead of calling itself.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabaseRevocationSource implements RevocationSource {
+
+    private final TokenService tokenService;
+
+    @Override
+    public RevocationsResponse fetch(long since) {
+        return tokenService.getRevocations(since);
+    }
+}
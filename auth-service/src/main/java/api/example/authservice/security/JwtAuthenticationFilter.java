@@ -1,86 +1,65 @@
 package api.example.authservice.security;
 
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
+import api.example.shared.security.AbstractJwtAuthenticationFilter;
+import api.example.shared.security.JwtVerifier;
+import api.example.shared.security.VerifiedToken;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-import java.io.IOException;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class JwtAuthenticationFilter extends OncePerRequestFilter {
+public class JwtAuthenticationFilter extends AbstractJwtAuthenticationFilter {
 
-    private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
 
-    @Override
-    protected void doFilterInternal(
-            @NonNull HttpServletRequest request,
-            @NonNull HttpServletResponse response,
-            @NonNull FilterChain filterChain) throws ServletException, IOException {
-
-        try {
-            String jwt = extractJwtFromRequest(request);
-
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                String email = jwtUtil.extractEmail(jwt);
-                log.debug("JWT token found for user: {}", email);
-
-                if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-                    if (jwtUtil.validateToken(jwt, userDetails)) {
-                        UsernamePasswordAuthenticationToken authentication =
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails,
-                                        null,
-                                        userDetails.getAuthorities()
-                                );
-
-                        authentication.setDetails(
-                                new WebAuthenticationDetailsSource().buildDetails(request)
-                        );
-
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        log.debug("Successfully set authentication for user: {}", email);
-                    } else {
-                        log.warn("JWT token validation failed for user: {}", email);
-                    }
-                }
-            } else {
-                log.debug("No valid JWT token found in request");
-            }
-        } catch (Exception e) {
-            log.error("Cannot set user authentication: {}", e.getMessage(), e);
-        }
-
-        filterChain.doFilter(request, response);
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier, UserDetailsService userDetailsService) {
+        super(jwtVerifier);
+        this.userDetailsService = userDetailsService;
     }
 
     /**
-     * Extract JWT token from the Authorization header
+     * Auth-service authenticates with the full UserDetails so that locked or
+     * disabled accounts are rejected even while their tokens are still valid
      */
-    private String extractJwtFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
+    @Override
+    protected void authenticate(VerifiedToken token, HttpServletRequest request) {
+        String email = token.getEmail();
+        log.debug("JWT token found for user: {}", email);
 
-        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
+        if (email == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
         }
 
-        return null;
+        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+
+        if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+            log.warn("JWT token rejected for disabled or locked account: {}", email);
+            return;
+        }
+
+        if (email.equals(userDetails.getUsername())) {
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+
+            authentication.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            log.debug("Successfully set authentication for user: {}", email);
+        } else {
+            log.warn("JWT token validation failed for user: {}", email);
+        }
     }
 
     /**
@@ -98,7 +77,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 path.startsWith("/api/auth/forgot-password") ||
                 path.startsWith("/api/auth/reset-password") ||
                 path.startsWith("/api/auth/validate-token") ||
+                path.startsWith("/api/auth/revocations") ||
+                path.startsWith("/api/auth/jwks") ||
                 path.startsWith("/actuator/health") ||
                 path.startsWith("/actuator/info");
     }
-}
\ No newline at end of file
+}
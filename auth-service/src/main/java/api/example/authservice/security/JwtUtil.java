@@ -1,66 +1,136 @@
 package api.example.authservice.security;
 
-import api.example.authservice.entity.User;
+import api.example.authservice.config.SigningKeyProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Signs tokens with the current ES256 key from {@link SigningKeyManager}, naming it in the {@code kid} header.
+ * Tokens without a {@code kid} were signed with {@code jwt.secret} and are still accepted while it is configured
+ * and, once signing is asymmetric, until {@code jwt.legacy-accept-until}.
+ */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
+    private final SigningKeyManager signingKeyManager;
+    private final SigningKeyProperties signingProperties;
+
+    @Value("${jwt.secret:}")
     private String secret;
 
+    @Value("${jwt.legacy-accept-until:}")
+    private Instant legacyAcceptUntil;
+
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    /** Resolves the key lazily per token, so the manager can rotate keys underneath it. */
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                @Override
+                public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                    String kid = header.getKeyId();
+                    if (kid == null) {
+                        if (signingProperties.isAsymmetric() && legacyAcceptUntil != null
+                                && Instant.now().isAfter(legacyAcceptUntil)) {
+                            throw new JwtException("Token has no key id");
+                        }
+                        return getSigningKey();
+                    }
+                    Key key = signingKeyManager.publicKey(kid);
+                    if (key == null) {
+                        throw new JwtException("Unknown signing key: " + kid);
+                    }
+                    return key;
+                }
+            })
+            .build();
+
     private SecretKey getSigningKey() {
+        if (!StringUtils.hasText(secret)) {
+            throw new JwtException("Token has no key id and jwt.secret is not configured");
+        }
         byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
-    public String generateAccessToken(String email, String role, Long userId) {
+    /**
+     * @param tokenId  the {@code jti}, used to revoke this token
+     * @param familyId the refresh token family this token was issued with
+     */
+    public String generateAccessToken(String email, String role, Long userId, String tokenId, String familyId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
         claims.put("userId", userId);
         claims.put("type", "access");
+        claims.put("fid", familyId);
 
-        return createToken(claims, email, jwtExpiration);
+        return createToken(claims, email, tokenId, jwtExpiration);
     }
 
-    public String generateRefreshToken(String email, String role, Long userId) {
+    public String generateRefreshToken(String email, String role, Long userId, String tokenId, String familyId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
         claims.put("userId", userId);
         claims.put("type", "refresh");
+        claims.put("fid", familyId);
 
-        return createToken(claims, email, refreshExpiration);
+        return createToken(claims, email, tokenId, refreshExpiration);
     }
 
-    private String createToken(Map<String, Object> claims, String subject, long expiration) {
+    public long getAccessExpiration() {
+        return jwtExpiration;
+    }
+
+    public long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    /**
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
+    private String createToken(Map<String, Object> claims, String subject, String tokenId, long expiration) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setClaims(claims)
+                .setId(tokenId)
                 .setSubject(subject)
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(expiryDate);
+
+        if (!signingProperties.isAsymmetric()) {
+            return builder.signWith(getSigningKey(), SignatureAlgorithm.HS256).compact();
+        }
+        SigningKeyManager.LoadedKey key = signingKeyManager.currentKey();
+        return builder
+                .setHeaderParam(JwsHeader.KEY_ID, key.getKid())
+                .signWith(key.getPrivateKey(), SignatureAlgorithm.ES256)
                 .compact();
     }
 
@@ -76,10 +146,7 @@ public class JwtUtil {
 
     public Boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (ExpiredJwtException e) {
             log.warn("JWT token is expired: {}", e.getMessage());
@@ -96,6 +163,9 @@ public class JwtUtil {
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
             return false;
+        } catch (JwtException e) {
+            log.error("JWT token is not trusted: {}", e.getMessage());
+            return false;
         }
     }
 
@@ -121,11 +191,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     private Boolean isTokenExpired(String token) {
@@ -0,0 +1,117 @@
+package api.example.authservice.security;
+
+import api.example.authservice.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Throttles the unauthenticated endpoints that cost a BCrypt hash or an email:
+ * every call takes a token from the client IP's bucket and, when an email is given,
+ * from that address's bucket, each kept separately per endpoint.
+ * Limits are per auth-service instance.
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+    private static final String METRIC_PREFIX = "auth.rate.limit";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final TokenBucketTable ipBuckets;
+    private final TokenBucketTable emailBuckets;
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public LoginRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.trustedProxies = properties.getTrustedProxies().stream()
+                .filter(StringUtils::hasText)
+                .map(IpAddressMatcher::new)
+                .toList();
+        this.ipBuckets = new TokenBucketTable(properties.getIp().getCapacity(),
+                properties.getIp().getRefillPeriod(), properties.getMaxKeys(), properties.getStripes());
+        this.emailBuckets = new TokenBucketTable(properties.getEmail().getCapacity(),
+                properties.getEmail().getRefillPeriod(), properties.getMaxKeys(), properties.getStripes());
+
+        register("ip", ipBuckets);
+        register("email", emailBuckets);
+    }
+
+    /**
+     * @throws ResponseStatusException 429 when either bucket is empty
+     */
+    public void check(String endpoint, HttpServletRequest request, String email) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!ipBuckets.tryAcquire(endpoint + '|' + clientIp(request))) {
+            throw reject(endpoint, "ip");
+        }
+        if (StringUtils.hasText(email) && !emailBuckets.tryAcquire(endpoint + '|' + email.toLowerCase())) {
+            throw reject(endpoint, "email");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.rate-limit.sweep-interval:PT1M}")
+    public void evictIdle() {
+        int evicted = ipBuckets.evictIdle() + emailBuckets.evictIdle();
+        log.debug("Dropped {} idle rate limit buckets", evicted);
+    }
+
+    private ResponseStatusException reject(String endpoint, String keyType) {
+        Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Requests refused by the login rate limiter")
+                .tag("endpoint", endpoint)
+                .tag("key", keyType)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Rate limit exceeded on {} by {}", endpoint, keyType);
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many attempts, please try again later");
+    }
+
+    private void register(String keyType, TokenBucketTable buckets) {
+        Gauge.builder(METRIC_PREFIX + ".keys", buckets, TokenBucketTable::size)
+                .description("Rate limit buckets currently tracked")
+                .tag("key", keyType)
+                .register(meterRegistry);
+        FunctionCounter.builder(METRIC_PREFIX + ".overflow", buckets, TokenBucketTable::getOverflows)
+                .description("Requests let through untracked because the bucket table was full")
+                .tag("key", keyType)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The api-gateway appends the address it saw to X-Forwarded-For, so on a request from a trusted proxy the last
+     * entry is the one a client cannot forge. Any other caller is keyed by the socket address.
+     */
+    private String clientIp(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (StringUtils.hasText(forwarded) && isTrustedProxy(remoteAddr)) {
+            return forwarded.substring(forwarded.lastIndexOf(',') + 1).trim();
+        }
+        return remoteAddr;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        for (IpAddressMatcher proxy : trustedProxies) {
+            if (proxy.matches(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,187 @@
+package api.example.authservice.security;
+
+import api.example.authservice.config.SigningKeyProperties;
+import api.example.authservice.entity.SigningKey;
+import api.example.authservice.repository.SigningKeyRepository;
+import api.example.shared.dto.JwkSet;
+import api.example.shared.security.Jwks;
+import api.example.shared.security.JwksSource;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Owns the ES256 signing keys. Every {@code check-interval} it creates the next key once the current one
+ * is within {@code activation-delay} of retiring, drops keys whose tokens have all expired, and reloads
+ * the table into memory, so signing and the JWKS endpoint never touch the database.
+ * Doubles as auth-service's own {@link JwksSource}.
+ */
+@Slf4j
+@Component
+public class SigningKeyManager implements JwksSource {
+
+    private final SigningKeyRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final SigningKeyProperties properties;
+    private final Duration tokenLifetime;
+    private volatile List<LoadedKey> keys = List.of();
+
+    public SigningKeyManager(SigningKeyRepository repository,
+                             TransactionTemplate transactionTemplate,
+                             SigningKeyProperties properties,
+                             @Value("${jwt.refresh-expiration}") long refreshExpiration) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.tokenLifetime = Duration.ofMillis(refreshExpiration);
+    }
+
+    @PostConstruct
+    public void init() {
+        if (properties.isAsymmetric()) {
+            rotate();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.signing.check-interval:PT1M}", initialDelayString = "${jwt.signing.check-interval:PT1M}")
+    public void rotate() {
+        if (!properties.isAsymmetric()) {
+            return;
+        }
+        try {
+            List<SigningKey> live = transactionTemplate.execute(status -> rotateKeys(Instant.now()));
+            keys = live.stream().map(LoadedKey::from).collect(Collectors.toUnmodifiableList());
+        } catch (Exception e) {
+            // keep signing with the keys already loaded
+            log.error("Signing key rotation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the key tokens are signed with right now: the most recently activated one
+     * @throws IllegalStateException if no key has been loaded
+     */
+    public LoadedKey currentKey() {
+        Instant now = Instant.now();
+        LoadedKey current = null;
+        for (LoadedKey key : keys) {
+            if (!key.activatesAt.isAfter(now)) {
+                current = key;
+            }
+        }
+        if (current == null) {
+            throw new IllegalStateException("No active signing key");
+        }
+        return current;
+    }
+
+    /**
+     * @return the public key for a {@code kid}, or {@code null} if it is unknown or has expired
+     */
+    public ECPublicKey publicKey(String kid) {
+        for (LoadedKey key : keys) {
+            if (key.kid.equals(kid)) {
+                return key.publicKey;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * All published keys, including the next one that has not started signing yet.
+     */
+    @Override
+    public JwkSet fetch() {
+        return new JwkSet(keys.stream()
+                .map(key -> Jwks.toJwk(key.kid, key.publicKey))
+                .collect(Collectors.toList()));
+    }
+
+    private List<SigningKey> rotateKeys(Instant now) {
+        int expired = repository.deleteExpired(now);
+        if (expired > 0) {
+            log.info("Removed {} expired signing keys", expired);
+        }
+
+        List<SigningKey> live = new ArrayList<>(repository.findByExpiresAtAfterOrderByActivatesAtAsc(now));
+        SigningKey newest = live.isEmpty() ? null : live.get(live.size() - 1);
+
+        if (newest == null) {
+            live.add(create(now));
+        } else if (!now.isBefore(newest.getRetiresAt().minus(properties.getActivationDelay()))) {
+            Instant activatesAt = newest.getRetiresAt();
+            Instant earliest = now.plus(properties.getActivationDelay());
+            live.add(create(activatesAt.isBefore(earliest) ? earliest : activatesAt));
+        }
+        return live;
+    }
+
+    private SigningKey create(Instant activatesAt) {
+        KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        Instant retiresAt = activatesAt.plus(properties.getRotationInterval());
+        SigningKey key = SigningKey.builder()
+                .id(UUID.randomUUID().toString())
+                .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+                .privateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()))
+                .activatesAt(activatesAt)
+                .retiresAt(retiresAt)
+                .expiresAt(retiresAt.plus(tokenLifetime))
+                .build();
+        log.info("Created signing key {}, signing from {}", key.getId(), activatesAt);
+        return repository.save(key);
+    }
+
+    public static final class LoadedKey {
+        private final String kid;
+        private final PrivateKey privateKey;
+        private final ECPublicKey publicKey;
+        private final Instant activatesAt;
+
+        private LoadedKey(String kid, PrivateKey privateKey, ECPublicKey publicKey, Instant activatesAt) {
+            this.kid = kid;
+            this.privateKey = privateKey;
+            this.publicKey = publicKey;
+            this.activatesAt = activatesAt;
+        }
+
+        static LoadedKey from(SigningKey key) {
+            try {
+                KeyFactory factory = KeyFactory.getInstance("EC");
+                return new LoadedKey(key.getId(),
+                        factory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(key.getPrivateKey()))),
+                        (ECPublicKey) factory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey()))),
+                        key.getActivatesAt());
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unreadable signing key " + key.getId(), e);
+            }
+        }
+
+        public String getKid() {
+            return kid;
+        }
+
+        public PrivateKey getPrivateKey() {
+            return privateKey;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package api.example.authservice.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets for a large number of keys in a fixed amount of memory.
+ * <p>
+ * Keys are reduced to a 64-bit hash and stored in lock-striped open-addressing tables
+ * (linear probing, backward-shift deletion) next to one {@code long} of state that packs
+ * the token count and the time of the last refill. Buckets refill lazily when touched.
+ * A bucket that has refilled completely is indistinguishable from a missing one, so such
+ * buckets are dropped by {@link #evictIdle()} and whenever a stripe runs out of room.
+ * If a stripe is still full, the request is allowed and counted in {@link #getOverflows()}.
+ */
+public final class TokenBucketTable {
+
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.75;
+
+    private final float capacity;
+    private final double tokensPerMilli;
+    private final long startNanos = System.nanoTime();
+    private final Stripe[] stripes;
+    private final LongAdder overflows = new LongAdder();
+
+    public TokenBucketTable(int capacity, Duration refillPeriod, int maxKeys, int stripeCount) {
+        this.capacity = capacity;
+        this.tokensPerMilli = (double) capacity / Math.max(1, refillPeriod.toMillis());
+
+        int perStripe = Math.max(1, maxKeys / stripeCount);
+        int slots = Integer.highestOneBit((int) Math.ceil(perStripe / MAX_LOAD) - 1) << 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(Math.max(2, slots), perStripe);
+        }
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return false if the bucket is empty
+     */
+    public boolean tryAcquire(String key) {
+        long hash = hash(key);
+        Stripe stripe = stripes[Math.floorMod((int) (hash >>> 32), stripes.length)];
+        int now = nowMillis();
+        synchronized (stripe) {
+            return stripe.tryAcquire(hash, now);
+        }
+    }
+
+    /**
+     * @return the number of buckets dropped
+     */
+    public int evictIdle() {
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            int now = nowMillis();
+            synchronized (stripe) {
+                evicted += stripe.evictIdle(now);
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Approximate, read without locking.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size;
+        }
+        return size;
+    }
+
+    public long getOverflows() {
+        return overflows.sum();
+    }
+
+    /**
+     * Milliseconds since construction, truncated to 32 bits; differences are taken unsigned,
+     * which stays correct as long as idle buckets are swept within ~49 days.
+     */
+    private int nowMillis() {
+        return (int) ((System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private float refill(long state, int now) {
+        float tokens = Float.intBitsToFloat((int) (state >>> 32));
+        long elapsed = (now - (int) state) & 0xFFFFFFFFL;
+        return (float) Math.min(capacity, tokens + elapsed * tokensPerMilli);
+    }
+
+    private static long pack(float tokens, int now) {
+        return ((long) Float.floatToRawIntBits(tokens) << 32) | (now & 0xFFFFFFFFL);
+    }
+
+    /**
+     * FNV-1a over the UTF-8 bytes followed by the SplitMix64 finaliser; never returns {@link #EMPTY}.
+     */
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h == EMPTY ? 1L : h;
+    }
+
+    private final class Stripe {
+        private final long[] keys;
+        private final long[] states;
+        private final int mask;
+        private final int maxSize;
+        private int size;
+
+        Stripe(int slots, int maxSize) {
+            this.keys = new long[slots];
+            this.states = new long[slots];
+            this.mask = slots - 1;
+            this.maxSize = maxSize;
+        }
+
+        boolean tryAcquire(long hash, int now) {
+            int i = (int) hash & mask;
+            for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+                if (keys[i] == hash) {
+                    float tokens = refill(states[i], now);
+                    boolean acquired = tokens >= 1f;
+                    states[i] = pack(acquired ? tokens - 1f : tokens, now);
+                    return acquired;
+                }
+            }
+
+            if (size >= maxSize) {
+                evictIdle(now);
+                if (size >= maxSize) {
+                    overflows.increment();
+                    return true;
+                }
+                // entries may have shifted into the free slot found above
+                i = (int) hash & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+            }
+
+            keys[i] = hash;
+            states[i] = pack(capacity - 1f, now);
+            size++;
+            return true;
+        }
+
+        int evictIdle(int now) {
+            int evicted = 0;
+            for (int i = 0; i < keys.length; ) {
+                if (keys[i] != EMPTY && refill(states[i], now) >= capacity) {
+                    // removal may shift a later entry into slot i, so look at it again
+                    removeAt(i);
+                    evicted++;
+                } else {
+                    i++;
+                }
+            }
+            return evicted;
+        }
+
+        /**
+         * Backward-shift deletion: later entries of the probe run move into the hole
+         * when their home slot does not lie between the hole and their current slot.
+         */
+        private void removeAt(int hole) {
+            for (int j = (hole + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = (int) keys[j] & mask;
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    states[hole] = states[j];
+                    hole = j;
+                }
+            }
+            keys[hole] = EMPTY;
+            states[hole] = 0L;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package api.example.authservice.security;
+
+import api.example.authservice.entity.User;
+import api.example.authservice.service.UserDetailsServiceImpl;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts cached UserDetails whenever a users row is updated or deleted.
+ * The entry is dropped at flush and again after commit, so a concurrent
+ * request cannot re-cache the old row in between.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictionListener {
+
+    // resolved lazily: the listener is created while the EntityManagerFactory is still being built
+    private final ObjectProvider<UserDetailsServiceImpl> userDetailsService;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        String email = user.getEmail();
+        userDetailsService.getObject().evict(email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userDetailsService.getObject().evict(email);
+                }
+            });
+        }
+    }
+}
@@ -3,18 +3,19 @@ package api.example.authservice.service;
 import api.example.authservice.dto.*;
 import api.example.authservice.entity.User;
 import api.example.authservice.repository.UserRepository;
-import api.example.authservice.security.JwtUtil;
+import api.example.shared.security.JwtVerifier;
+import api.example.shared.security.VerifiedToken;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.util.Random;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -23,10 +24,10 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JwtUtil jwtUtil;
-    private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
-    private static final int OTP_EXPIRY_MINUTES = 10;
+    private final OtpStore otpStore;
+    private final TokenService tokenService;
+    private final JwtVerifier jwtVerifier;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -51,19 +52,11 @@ public class AuthService {
                 .accountNonLocked(true)
                 .build();
 
-        // Generate and send OTP
-        String otp = generateOtp();
-        user.setOtp(otp);
-        user.setOtpGeneratedTime(LocalDateTime.now());
-
         userRepository.save(user);
 
-        try {
-            emailService.sendOtpEmail(user.getEmail(), otp);
-        } catch (Exception e) {
-            log.error("Failed to send OTP email: {}", e.getMessage());
-            throw new RuntimeException("Failed to send verification email");
-        }
+        // Generate and send OTP
+        String otp = otpStore.issue(user.getEmail(), OtpStore.Purpose.VERIFY_EMAIL);
+        emailService.sendOtpEmail(user.getEmail(), otp);
 
         return AuthResponse.builder()
                 .message("Registration successful. Please verify your email.")
@@ -94,25 +87,19 @@ public class AuthService {
             throw new RuntimeException("Account is locked");
         }
 
-        // Authenticate
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(email, request.getPassword())
-        );
-
-        String accessToken = jwtUtil.generateAccessToken(
-                user.getEmail(), user.getRole().name(), user.getId()
-        );
+        // Check the password against the row loaded above rather than loading it again
+        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            throw new BadCredentialsException("Invalid email or password");
+        }
 
-        String refreshToken = jwtUtil.generateRefreshToken(
-                user.getEmail(), user.getRole().name(), user.getId()
-        );
+        TokenPair tokens = tokenService.issue(user.getEmail(), user.getRole().name(), user.getId());
 
         log.info("Login successful for user: {}", email);
 
         return AuthResponse.builder()
                 .message("Login successful")
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
+                .accessToken(tokens.getAccessToken())
+                .refreshToken(tokens.getRefreshToken())
                 .email(user.getEmail())
                 .role(user.getRole().name())
                 .userId(user.getId())
@@ -126,38 +113,19 @@ public class AuthService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (user.getOtp() == null) {
-            throw new RuntimeException("No OTP found. Please request a new one.");
-        }
-
-        if (!user.getOtp().equals(request.getOtp())) {
-            throw new RuntimeException("Invalid OTP");
-        }
-
-        if (user.getOtpGeneratedTime().plusMinutes(OTP_EXPIRY_MINUTES)
-                .isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("OTP has expired");
-        }
+        checkOtp(email, OtpStore.Purpose.VERIFY_EMAIL, request.getOtp());
 
         // Mark as verified
         user.setVerified(true);
-        user.setOtp(null);
-        user.setOtpGeneratedTime(null);
         userRepository.save(user);
 
         // Generate tokens
-        String accessToken = jwtUtil.generateAccessToken(
-                user.getEmail(), user.getRole().name(), user.getId()
-        );
-
-        String refreshToken = jwtUtil.generateRefreshToken(
-                user.getEmail(), user.getRole().name(), user.getId()
-        );
+        TokenPair tokens = tokenService.issue(user.getEmail(), user.getRole().name(), user.getId());
 
         return AuthResponse.builder()
                 .message("Email verified successfully")
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
+                .accessToken(tokens.getAccessToken())
+                .refreshToken(tokens.getRefreshToken())
                 .email(user.getEmail())
                 .role(user.getRole().name())
                 .userId(user.getId())
@@ -174,52 +142,39 @@ public class AuthService {
             throw new RuntimeException("User is already verified");
         }
 
-        String otp = generateOtp();
-        user.setOtp(otp);
-        user.setOtpGeneratedTime(LocalDateTime.now());
-        userRepository.save(user);
-
+        String otp = otpStore.issue(user.getEmail(), OtpStore.Purpose.VERIFY_EMAIL);
         emailService.sendOtpEmail(user.getEmail(), otp);
 
         return new MessageResponse("OTP sent successfully");
     }
 
     public AuthResponse refreshToken(RefreshTokenRequest request) {
-        String refreshToken = request.getRefreshToken();
-
-        if (!jwtUtil.validateToken(refreshToken)) {
-            throw new RuntimeException("Invalid or expired refresh token");
-        }
-
-        String email = jwtUtil.extractEmail(refreshToken);
-        String role = jwtUtil.extractRole(refreshToken);
-        Long userId = jwtUtil.extractUserId(refreshToken);
-
-        String newAccessToken = jwtUtil.generateAccessToken(email, role, userId);
-        String newRefreshToken = jwtUtil.generateRefreshToken(email, role, userId);
+        // Each refresh token is single use; presenting an old one revokes the whole family
+        TokenPair tokens = tokenService.rotate(request.getRefreshToken());
 
         return AuthResponse.builder()
                 .message("Token refreshed successfully")
-                .accessToken(newAccessToken)
-                .refreshToken(newRefreshToken)
-                .email(email)
-                .role(role)
-                .userId(userId)
+                .accessToken(tokens.getAccessToken())
+                .refreshToken(tokens.getRefreshToken())
+                .email(tokens.getEmail())
+                .role(tokens.getRole())
+                .userId(tokens.getUserId())
                 .verified(true)
                 .build();
     }
 
+    public MessageResponse logout(String accessToken) {
+        tokenService.revoke(accessToken);
+        return new MessageResponse("Logged out successfully");
+    }
+
     @Transactional
     public MessageResponse forgotPassword(ForgotPasswordRequest request) {
         String email = request.getEmail().toLowerCase();
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        String otp = generateOtp();
-        user.setOtp(otp);
-        user.setOtpGeneratedTime(LocalDateTime.now());
-        userRepository.save(user);
-
+        String otp = otpStore.issue(user.getEmail(), OtpStore.Purpose.RESET_PASSWORD);
         emailService.sendPasswordResetEmail(user.getEmail(), otp);
 
         return new MessageResponse("Password reset OTP sent to your email");
@@ -231,49 +186,55 @@ public class AuthService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (user.getOtp() == null || !user.getOtp().equals(request.getOtp())) {
-            throw new RuntimeException("Invalid OTP");
-        }
-
-        if (user.getOtpGeneratedTime().plusMinutes(OTP_EXPIRY_MINUTES)
-                .isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("OTP has expired");
-        }
+        checkOtp(email, OtpStore.Purpose.RESET_PASSWORD, request.getOtp());
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        user.setOtp(null);
-        user.setOtpGeneratedTime(null);
         userRepository.save(user);
 
         return new MessageResponse("Password reset successfully");
     }
 
     public TokenValidationResponse validateToken(String token) {
-        try {
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.extractEmail(token);
-                String role = jwtUtil.extractRole(token);
-                Long userId = jwtUtil.extractUserId(token);
-
-                return TokenValidationResponse.builder()
-                        .valid(true)
-                        .email(email)
-                        .role(role)
-                        .userId(userId)
-                        .message("Token is valid")
-                        .build();
-            }
-        } catch (Exception e) {
-            log.error("Token validation failed: {}", e.getMessage());
+        // One parse per token; the verifier also caches the result and checks the revocation list
+        VerifiedToken verified = jwtVerifier.verify(token);
+        if (verified == null) {
+            return TokenValidationResponse.builder()
+                    .valid(false)
+                    .message("Token is invalid or expired")
+                    .build();
         }
 
         return TokenValidationResponse.builder()
-                .valid(false)
-                .message("Token is invalid or expired")
+                .valid(true)
+                .email(verified.getEmail())
+                .role(verified.getRole())
+                .userId(verified.getUserId())
+                .message("Token is valid")
                 .build();
     }
 
-    private String generateOtp() {
-        return String.format("%06d", new Random().nextInt(1000000));
+    /**
+     * @return one response per token, in request order; duplicate tokens are verified once
+     */
+    public List<TokenValidationResponse> validateTokens(List<String> tokens) {
+        Map<String, TokenValidationResponse> results = new HashMap<>();
+        return tokens.stream()
+                .map(token -> results.computeIfAbsent(token == null ? "" : token, this::validateToken))
+                .collect(Collectors.toList());
+    }
+
+    private void checkOtp(String email, OtpStore.Purpose purpose, String otp) {
+        switch (otpStore.verify(email, purpose, otp)) {
+            case VALID:
+                return;
+            case NOT_FOUND:
+                throw new RuntimeException("No OTP found. Please request a new one.");
+            case EXPIRED:
+                throw new RuntimeException("OTP has expired");
+            case TOO_MANY_ATTEMPTS:
+                throw new RuntimeException("Too many invalid attempts. Please request a new OTP.");
+            default:
+                throw new RuntimeException("Invalid OTP");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package api.example.authservice.service;
+
+import api.example.authservice.config.EmailOutboxProperties;
+import api.example.authservice.entity.EmailOutbox;
+import api.example.authservice.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the email outbox in the background.
+ * Each poll locks a batch of due rows and sends them over a single SMTP connection;
+ * failed emails are retried with exponential backoff until {@code max-attempts} is reached.
+ * Once an email is sent or given up on its body is cleared: bodies carry OTPs, which must not outlive
+ * delivery in the database. The row itself is kept for {@code retention} as a delivery record.
+ */
+@Slf4j
+@Component
+public class EmailOutboxSender {
+
+    /** Body left on rows that no longer need one. */
+    static final String REDACTED = "";
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailOutboxProperties properties;
+    private final String fromEmail;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public EmailOutboxSender(EmailOutboxRepository outboxRepository,
+                             JavaMailSender mailSender,
+                             TransactionTemplate transactionTemplate,
+                             EmailOutboxProperties properties,
+                             MeterRegistry meterRegistry,
+                             @Value("${spring.mail.username}") String fromEmail) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.fromEmail = fromEmail;
+        this.sent = Counter.builder("email.outbox.sent").register(meterRegistry);
+        this.retried = Counter.builder("email.outbox.retried").register(meterRegistry);
+        this.failed = Counter.builder("email.outbox.failed")
+                .description("Emails given up on after the last attempt")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval:PT1S}")
+    public void sendDue() {
+        Integer processed;
+        do {
+            processed = transactionTemplate.execute(status -> sendBatch());
+        } while (processed != null && processed == properties.getBatchSize());
+    }
+
+    @Scheduled(cron = "0 0 3 * * *")
+    public void purgeSent() {
+        Integer purged = transactionTemplate.execute(status -> outboxRepository.deleteByStatusAndCreatedAtBefore(
+                EmailOutbox.Status.SENT, LocalDateTime.now().minus(properties.getRetention())));
+        log.info("Purged {} sent emails from the outbox", purged);
+    }
+
+    private int sendBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = outboxRepository.lockDueBatch(now, properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = toMessage(batch.get(i));
+        }
+
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failures.putAll(e.getFailedMessages());
+            if (failures.isEmpty()) {
+                // connection-level failure: nothing was sent
+                for (SimpleMailMessage message : messages) {
+                    failures.put(message, e);
+                }
+            }
+        } catch (MailException e) {
+            for (SimpleMailMessage message : messages) {
+                failures.put(message, e);
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutbox email = batch.get(i);
+            Exception failure = failures.get(messages[i]);
+            if (failure == null) {
+                email.setStatus(EmailOutbox.Status.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                email.setBody(REDACTED);
+                sent.increment();
+            } else {
+                recordFailure(email, failure, now);
+            }
+        }
+        outboxRepository.saveAll(batch);
+
+        log.info("Sent {} of {} outbox emails", batch.size() - failures.size(), batch.size());
+        return batch.size();
+    }
+
+    private void recordFailure(EmailOutbox email, Exception failure, LocalDateTime now) {
+        email.setAttempts(email.getAttempts() + 1);
+        email.setLastError(truncate(failure.getMessage()));
+
+        if (email.getAttempts() >= properties.getMaxAttempts()) {
+            email.setStatus(EmailOutbox.Status.FAILED);
+            email.setBody(REDACTED);
+            failed.increment();
+            log.error("Giving up on email {} to {} after {} attempts: {}",
+                    email.getId(), email.getRecipient(), email.getAttempts(), failure.getMessage());
+            return;
+        }
+
+        email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+        retried.increment();
+        log.warn("Failed to send email {} to {}, retrying at {}: {}",
+                email.getId(), email.getRecipient(), email.getNextAttemptAt(), failure.getMessage());
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+
+    private SimpleMailMessage toMessage(EmailOutbox email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -1,51 +1,47 @@
 package api.example.authservice.service;
 
+import api.example.authservice.entity.EmailOutbox;
+import api.example.authservice.repository.EmailOutboxRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
+/**
+ * Queues emails in the outbox as part of the caller's transaction; {@link EmailOutboxSender}
+ * delivers them. An email is only sent if the change that triggered it commits.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private final EmailOutboxRepository outboxRepository;
 
+    @Transactional
     public void sendOtpEmail(String toEmail, String otp) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Your Verification Code - HRMS");
-            message.setText("Your OTP code is: " + otp + "\n\nThis code expires in 10 minutes.");
-
-            mailSender.send(message);
-            log.info("OTP email sent successfully to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("Failed to send OTP email to {}: {}", toEmail, e.getMessage());
-            throw new RuntimeException("Failed to send verification email");
-        }
+        enqueue(toEmail,
+                "Your Verification Code - HRMS",
+                "Your OTP code is: " + otp + "\n\nThis code expires in 10 minutes.");
+        log.info("OTP email queued for: {}", toEmail);
     }
 
+    @Transactional
     public void sendPasswordResetEmail(String toEmail, String otp) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Password Reset - HRMS");
-            message.setText("Your password reset OTP is: " + otp + "\n\nThis code expires in 10 minutes.");
+        enqueue(toEmail,
+                "Password Reset - HRMS",
+                "Your password reset OTP is: " + otp + "\n\nThis code expires in 10 minutes.");
+        log.info("Password reset email queued for: {}", toEmail);
+    }
 
-            mailSender.send(message);
-            log.info("Password reset email sent successfully to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("Failed to send password reset email: {}", e.getMessage());
-            throw new RuntimeException("Failed to send password reset email");
-        }
+    private void enqueue(String toEmail, String subject, String body) {
+        outboxRepository.save(EmailOutbox.builder()
+                .recipient(toEmail)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
     }
-}
\ No newline at end of file
+}
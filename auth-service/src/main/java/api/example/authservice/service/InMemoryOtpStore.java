@@ -0,0 +1,184 @@
+package api.example.authservice.service;
+
+import api.example.authservice.config.OtpProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Default OTP store: nothing is written to the database.
+ * Entries live in lock-striped maps; a hashed timer wheel ticking every {@code otp.tick}
+ * removes them once they expire, and lookups check the expiry too so a late tick is harmless.
+ * OTPs are not shared between instances, so this store suits a single auth-service instance
+ * or sticky routing; use {@code otp.store=jpa} otherwise.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "otp", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore, AutoCloseable {
+
+    private final OtpProperties properties;
+    private final SecureRandom random = new SecureRandom();
+    private final int bound;
+    private final long ttlNanos;
+    private final long tickNanos;
+
+    private final Object[] locks;
+    private final Map<String, Entry>[] segments;
+
+    private final Queue<String>[] wheel;
+    private long cursor;
+    private final ScheduledExecutorService ticker;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryOtpStore(OtpProperties properties) {
+        this.properties = properties;
+        this.bound = (int) Math.pow(10, properties.getLength());
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.tickNanos = properties.getTick().toNanos();
+
+        this.locks = new Object[properties.getStripes()];
+        this.segments = new Map[properties.getStripes()];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+            segments[i] = new HashMap<>();
+        }
+
+        // one extra slot so an entry is never placed in the slot currently being swept
+        this.wheel = new Queue[(int) (ttlNanos / tickNanos) + 2];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.cursor = System.nanoTime() / tickNanos;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "otp-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String issue(String email, Purpose purpose) {
+        String otp = String.format("%0" + properties.getLength() + "d", random.nextInt(bound));
+        String key = key(email, purpose);
+        long expiresAt = System.nanoTime() + ttlNanos;
+
+        int stripe = stripe(key);
+        synchronized (locks[stripe]) {
+            segments[stripe].put(key, new Entry(otp, expiresAt));
+        }
+        wheel[slot(expiresAt)].add(key);
+        return otp;
+    }
+
+    @Override
+    public Result verify(String email, Purpose purpose, String otp) {
+        String key = key(email, purpose);
+        int stripe = stripe(key);
+        synchronized (locks[stripe]) {
+            Map<String, Entry> segment = segments[stripe];
+            Entry entry = segment.get(key);
+            if (entry == null) {
+                return Result.NOT_FOUND;
+            }
+            if (entry.isExpired(System.nanoTime())) {
+                segment.remove(key);
+                return Result.EXPIRED;
+            }
+            if (otp != null && MessageDigest.isEqual(
+                    entry.otp.getBytes(StandardCharsets.UTF_8), otp.getBytes(StandardCharsets.UTF_8))) {
+                segment.remove(key);
+                return Result.VALID;
+            }
+            if (++entry.attempts >= properties.getMaxAttempts()) {
+                segment.remove(key);
+                return Result.TOO_MANY_ATTEMPTS;
+            }
+            return Result.INVALID;
+        }
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Sweeps every slot the wheel has passed since the last tick.
+     */
+    private void advance() {
+        try {
+            long now = System.nanoTime();
+            long target = now / tickNanos;
+            for (; cursor <= target; cursor++) {
+                Queue<String> slot = wheel[(int) Math.floorMod(cursor, (long) wheel.length)];
+                for (int pending = slot.size(); pending > 0; pending--) {
+                    String key = slot.poll();
+                    if (key == null) {
+                        break;
+                    }
+                    expire(key, now);
+                }
+            }
+        } catch (Exception e) {
+            log.error("OTP expiry sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private void expire(String key, long now) {
+        int stripe = stripe(key);
+        long requeueAt;
+        synchronized (locks[stripe]) {
+            Entry entry = segments[stripe].get(key);
+            if (entry == null) {
+                return;
+            }
+            if (entry.isExpired(now)) {
+                segments[stripe].remove(key);
+                return;
+            }
+            requeueAt = entry.expiresAt;
+        }
+        // a late tick can sweep a slot one lap early; without this the entry would only go on the next verify
+        wheel[slot(requeueAt)].add(key);
+    }
+
+    private int slot(long expiresAt) {
+        return (int) Math.floorMod(expiresAt / tickNanos + 1, (long) wheel.length);
+    }
+
+    private int stripe(String key) {
+        return Math.floorMod(key.hashCode(), locks.length);
+    }
+
+    private static String key(String email, Purpose purpose) {
+        return purpose.name() + ':' + email.toLowerCase();
+    }
+
+    private static class Entry {
+        private final String otp;
+        private final long expiresAt;
+        private int attempts;
+
+        Entry(String otp, long expiresAt) {
+            this.otp = otp;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package api.example.authservice.service;
+
+import api.example.authservice.config.OtpProperties;
+import api.example.authservice.entity.User;
+import api.example.authservice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the OTP on the users row, shared by every auth-service instance.
+ * There is one OTP per user whatever the purpose, and wrong guesses are not counted.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "otp", name = "store", havingValue = "jpa")
+public class JpaOtpStore implements OtpStore {
+
+    private final UserRepository userRepository;
+    private final OtpProperties properties;
+    private final SecureRandom random = new SecureRandom();
+
+    @Override
+    @Transactional
+    public String issue(String email, Purpose purpose) {
+        User user = userRepository.findByEmail(email.toLowerCase())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        String otp = String.format("%0" + properties.getLength() + "d",
+                random.nextInt((int) Math.pow(10, properties.getLength())));
+        user.setOtp(otp);
+        user.setOtpGeneratedTime(LocalDateTime.now());
+        userRepository.save(user);
+        return otp;
+    }
+
+    @Override
+    @Transactional
+    public Result verify(String email, Purpose purpose, String otp) {
+        User user = userRepository.findByEmail(email.toLowerCase()).orElse(null);
+        if (user == null || user.getOtp() == null) {
+            return Result.NOT_FOUND;
+        }
+        if (!user.getOtp().equals(otp)) {
+            return Result.INVALID;
+        }
+        if (user.getOtpGeneratedTime().plus(properties.getTtl()).isBefore(LocalDateTime.now())) {
+            return Result.EXPIRED;
+        }
+
+        user.setOtp(null);
+        user.setOtpGeneratedTime(null);
+        userRepository.save(user);
+        return Result.VALID;
+    }
+}
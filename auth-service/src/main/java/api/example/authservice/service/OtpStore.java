@@ -0,0 +1,23 @@
+package api.example.authservice.service;
+
+/**
+ * Issues and checks one-time passwords. A new OTP replaces any earlier one for the same email
+ * and purpose, and a successful check consumes it.
+ */
+public interface OtpStore {
+
+    enum Purpose {
+        VERIFY_EMAIL, RESET_PASSWORD
+    }
+
+    enum Result {
+        VALID, INVALID, EXPIRED, NOT_FOUND, TOO_MANY_ATTEMPTS
+    }
+
+    /**
+     * @return the new OTP, to be sent to the user
+     */
+    String issue(String email, Purpose purpose);
+
+    Result verify(String email, Purpose purpose, String otp);
+}
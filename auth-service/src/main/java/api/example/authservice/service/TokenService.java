@@ -0,0 +1,180 @@
+package api.example.authservice.service;
+
+import api.example.authservice.dto.TokenPair;
+import api.example.authservice.entity.RefreshTokenFamily;
+import api.example.authservice.entity.RevokedToken;
+import api.example.authservice.repository.RefreshTokenFamilyRepository;
+import api.example.authservice.repository.RevokedTokenRepository;
+import api.example.authservice.security.JwtUtil;
+import api.example.shared.dto.RevocationsResponse;
+import api.example.shared.security.RevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Issues token pairs, rotates refresh tokens and maintains the access-token denylist.
+ * Every login starts a refresh token family; each refresh replaces the family's current
+ * refresh token, and presenting a superseded one revokes the family and its access token.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenService {
+
+    private static final int REVOCATION_PAGE_SIZE = 1000;
+
+    private final JwtUtil jwtUtil;
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ObjectProvider<RevocationList> revocationList;
+
+    @Transactional
+    public TokenPair issue(String email, String role, Long userId) {
+        RefreshTokenFamily family = RefreshTokenFamily.builder()
+                .id(UUID.randomUUID().toString())
+                .email(email)
+                .role(role)
+                .userId(userId)
+                .build();
+        return mint(family);
+    }
+
+    /**
+     * Exchanges a refresh token for a new pair. The rotation commits even when reuse is detected,
+     * so the family stays revoked.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public TokenPair rotate(String refreshToken) {
+        Claims claims = parse(refreshToken);
+        String familyId = claims.get("fid", String.class);
+        if (!"refresh".equals(claims.get("type", String.class)) || familyId == null) {
+            throw new BadCredentialsException("Invalid or expired refresh token");
+        }
+
+        RefreshTokenFamily family = familyRepository.findForUpdate(familyId)
+                .orElseThrow(() -> new BadCredentialsException("Invalid or expired refresh token"));
+        if (family.isRevoked()) {
+            throw new BadCredentialsException("Refresh token has been revoked");
+        }
+        if (!claims.getId().equals(family.getCurrentRefreshJti())) {
+            log.warn("Refresh token reuse detected for {}, revoking family {}", family.getEmail(), familyId);
+            revokeFamily(family);
+            throw new BadCredentialsException("Refresh token reuse detected, please log in again");
+        }
+
+        return mint(family);
+    }
+
+    /**
+     * Revokes the access token and, with it, the refresh token family it was issued with.
+     */
+    @Transactional
+    public void revoke(String accessToken) {
+        Claims claims = parse(accessToken);
+        revokeAccessToken(claims.getId(), claims.getExpiration().toInstant());
+
+        String familyId = claims.get("fid", String.class);
+        if (familyId != null) {
+            familyRepository.findForUpdate(familyId).ifPresent(this::revokeFamily);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public RevocationsResponse getRevocations(long since) {
+        List<RevokedToken> page = revokedTokenRepository.findByIdGreaterThanAndExpiresAtAfter(
+                since, Instant.now(), PageRequest.of(0, REVOCATION_PAGE_SIZE + 1, Sort.by("id")));
+
+        boolean hasMore = page.size() > REVOCATION_PAGE_SIZE;
+        if (hasMore) {
+            page = page.subList(0, REVOCATION_PAGE_SIZE);
+        }
+        long cursor = page.isEmpty() ? since : page.get(page.size() - 1).getId();
+
+        return new RevocationsResponse(
+                page.stream()
+                        .map(token -> new RevocationsResponse.Entry(token.getJti(), token.getExpiresAt()))
+                        .collect(Collectors.toList()),
+                cursor,
+                hasMore);
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int revoked = revokedTokenRepository.deleteExpired(now);
+        int families = familyRepository.deleteExpired(now);
+        log.info("Purged {} expired revocations and {} expired refresh token families", revoked, families);
+    }
+
+    private TokenPair mint(RefreshTokenFamily family) {
+        Instant now = Instant.now();
+        String accessJti = UUID.randomUUID().toString();
+        String refreshJti = UUID.randomUUID().toString();
+
+        family.setCurrentAccessJti(accessJti);
+        family.setAccessExpiresAt(now.plusMillis(jwtUtil.getAccessExpiration()));
+        family.setCurrentRefreshJti(refreshJti);
+        family.setExpiresAt(now.plusMillis(jwtUtil.getRefreshExpiration()));
+        familyRepository.save(family);
+
+        return new TokenPair(
+                jwtUtil.generateAccessToken(family.getEmail(), family.getRole(), family.getUserId(),
+                        accessJti, family.getId()),
+                jwtUtil.generateRefreshToken(family.getEmail(), family.getRole(), family.getUserId(),
+                        refreshJti, family.getId()),
+                family.getEmail(),
+                family.getRole(),
+                family.getUserId());
+    }
+
+    private void revokeFamily(RefreshTokenFamily family) {
+        family.setRevoked(true);
+        familyRepository.save(family);
+        if (family.getCurrentAccessJti() != null && family.getAccessExpiresAt() != null) {
+            revokeAccessToken(family.getCurrentAccessJti(), family.getAccessExpiresAt());
+        }
+    }
+
+    private void revokeAccessToken(String jti, Instant expiresAt) {
+        if (jti == null || revokedTokenRepository.existsByJti(jti)) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder().jti(jti).expiresAt(expiresAt).build());
+
+        // auth-service's own filter sees the revocation at once rather than on the next sync
+        RevocationList localList = revocationList.getIfAvailable();
+        if (localList != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    localList.add(jti, expiresAt);
+                }
+            });
+        }
+    }
+
+    private Claims parse(String token) {
+        try {
+            return jwtUtil.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BadCredentialsException("Invalid or expired refresh token");
+        }
+    }
+}
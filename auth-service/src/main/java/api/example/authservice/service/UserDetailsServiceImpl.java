@@ -2,23 +2,56 @@ package api.example.authservice.service;
 
 import api.example.authservice.entity.User;
 import api.example.authservice.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collections;
 
+/**
+ * Loads users for authenticated auth-service requests.
+ * Results are cached briefly; {@code UserCacheEvictionListener} evicts a user as soon as
+ * the row changes, so password resets and lock changes take effect immediately.
+ */
 @Service
-@RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${auth.user-cache.ttl:PT5M}") Duration ttl,
+                                  @Value("${auth.user-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.user.details");
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserDetails cached = cache.get(email, this::load);
+        // hand out a copy: authentication erases credentials on the instance it is given
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    private UserDetails load(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
 
@@ -33,4 +66,4 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .disabled(!user.isEnabled())
                 .build();
     }
-}
\ No newline at end of file
+}
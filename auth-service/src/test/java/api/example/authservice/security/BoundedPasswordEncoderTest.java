@@ -0,0 +1,103 @@
+package api.example.authservice.security;
+
+import api.example.authservice.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final PasswordHashingProperties properties = new PasswordHashingProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    void encodesAndMatchesOnThePool() {
+        encoder = encoder(4);
+
+        String hash = encoder.encode("secret");
+
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(meterRegistry.get("auth.password.hashing.time").tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void rejectsWith503WhenTheQueueIsFull() throws InterruptedException {
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setMaxWait(Duration.ofSeconds(30));
+        encoder = encoder(12);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("running"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queueDepth() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        assertBusy(() -> encoder.matches("secret", "$2a$04$notarealhashnotarealhashnotarealhashnotarealhas"));
+        assertThat(rejected()).isEqualTo(1);
+        assertThat(running.join()).isNotBlank();
+        assertThat(queued.join()).isNotBlank();
+    }
+
+    @Test
+    void rejectsWith503WhenTheHashTakesLongerThanMaxWait() {
+        properties.setMaxWait(Duration.ofMillis(1));
+        encoder = encoder(12);
+
+        assertBusy(() -> encoder.encode("secret"));
+        assertThat(rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void calibrationStaysWithinTheConfiguredStrengths() {
+        properties.setMinStrength(4);
+        properties.setMaxStrength(6);
+
+        properties.setTargetTime(Duration.ZERO);
+        assertThat(BoundedPasswordEncoder.calibrate(properties)).isEqualTo(4);
+
+        properties.setTargetTime(Duration.ofMinutes(1));
+        assertThat(BoundedPasswordEncoder.calibrate(properties)).isEqualTo(6);
+    }
+
+    private BoundedPasswordEncoder encoder(int strength) {
+        properties.setMinStrength(strength);
+        properties.setMaxStrength(strength);
+        return new BoundedPasswordEncoder(properties, meterRegistry);
+    }
+
+    private static void assertBusy(Runnable hash) {
+        assertThatThrownBy(hash::run)
+                .isInstanceOfSatisfying(ResponseStatusException.class, e ->
+                        assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    private double queueDepth() {
+        return meterRegistry.get("auth.password.hashing.queue.depth").gauge().value();
+    }
+
+    private double rejected() {
+        return meterRegistry.get("auth.password.hashing.rejected").counter().count();
+    }
+}
@@ -0,0 +1,61 @@
+package api.example.authservice.security;
+
+import api.example.shared.security.JwtVerifier;
+import api.example.shared.security.VerifiedToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String EMAIL = "jane@example.com";
+
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(mock(JwtVerifier.class), userDetailsService);
+    private final VerifiedToken token = new VerifiedToken(EMAIL, "EMPLOYEE", 7L, Instant.now().plusSeconds(60), "jti");
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesAnActiveAccount() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user().build());
+
+        filter.authenticate(token, new MockHttpServletRequest());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    @Test
+    void skipsALockedAccountWhileItsTokenIsValid() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user().accountLocked(true).build());
+
+        filter.authenticate(token, new MockHttpServletRequest());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void skipsADisabledAccountWhileItsTokenIsValid() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user().disabled(true).build());
+
+        filter.authenticate(token, new MockHttpServletRequest());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private static User.UserBuilder user() {
+        return User.withUsername(EMAIL).password("hash").authorities("EMPLOYEE");
+    }
+}
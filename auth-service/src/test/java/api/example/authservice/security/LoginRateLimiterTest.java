@@ -0,0 +1,67 @@
+package api.example.authservice.security;
+
+import api.example.authservice.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginRateLimiterTest {
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+
+    LoginRateLimiterTest() {
+        properties.setMaxKeys(1024);
+        properties.setIp(new RateLimitProperties.Limit(1, Duration.ofHours(1)));
+    }
+
+    @Test
+    void ignoresForwardedForFromUntrustedCallers() {
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, new SimpleMeterRegistry());
+
+        limiter.check("login", request("198.51.100.1", "203.0.113.1"), null);
+
+        // a fresh forged address must not buy a fresh budget
+        assertThatThrownBy(() -> limiter.check("login", request("198.51.100.1", "203.0.113.2"), null))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void keysByTheLastForwardedEntryFromTheGateway() {
+        properties.setTrustedProxies(List.of("10.0.0.0/8"));
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, new SimpleMeterRegistry());
+
+        limiter.check("login", request("10.1.2.3", "1.1.1.1, 203.0.113.1"), null);
+
+        assertThatCode(() -> limiter.check("login", request("10.1.2.3", "203.0.113.2"), null)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> limiter.check("login", request("10.1.2.3", "2.2.2.2, 203.0.113.1"), null))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void emailBudgetIsSharedAcrossAddresses() {
+        properties.setIp(new RateLimitProperties.Limit(10, Duration.ofHours(1)));
+        properties.setEmail(new RateLimitProperties.Limit(1, Duration.ofHours(1)));
+        LoginRateLimiter limiter = new LoginRateLimiter(properties, new SimpleMeterRegistry());
+
+        limiter.check("login", request("198.51.100.1", null), "jane@example.com");
+
+        assertThatThrownBy(() -> limiter.check("login", request("198.51.100.2", null), "Jane@Example.com"))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
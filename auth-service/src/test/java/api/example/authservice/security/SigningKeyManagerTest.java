@@ -0,0 +1,93 @@
+package api.example.authservice.security;
+
+import api.example.authservice.config.SigningKeyProperties;
+import api.example.authservice.entity.SigningKey;
+import api.example.authservice.repository.SigningKeyRepository;
+import api.example.shared.dto.JwkSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SigningKeyManagerTest {
+
+    private final SigningKeyRepository repository = mock(SigningKeyRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final SigningKeyProperties properties = new SigningKeyProperties();
+    private SigningKeyManager manager;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(repository.save(any(SigningKey.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        manager = new SigningKeyManager(repository, transactionTemplate, properties, Duration.ofDays(7).toMillis());
+    }
+
+    @Test
+    void createsAKeyThatSignsRightAwayWhenThereIsNone() {
+        when(repository.findByExpiresAtAfterOrderByActivatesAtAsc(any())).thenReturn(List.of());
+
+        manager.rotate();
+
+        SigningKey created = savedKey();
+        assertThat(manager.currentKey().getKid()).isEqualTo(created.getId());
+        assertThat(manager.publicKey(created.getId())).isNotNull();
+        assertThat(created.getExpiresAt()).isEqualTo(created.getRetiresAt().plus(Duration.ofDays(7)));
+    }
+
+    @Test
+    void publishesTheNextKeyBeforeItSigns() {
+        manager.rotate();
+        SigningKey current = savedKey();
+        current.setRetiresAt(Instant.now().plus(Duration.ofMinutes(5)));
+        when(repository.findByExpiresAtAfterOrderByActivatesAtAsc(any())).thenReturn(List.of(current));
+
+        manager.rotate();
+
+        JwkSet jwks = manager.fetch();
+        assertThat(jwks.getKeys()).hasSize(2);
+        // the next key waits out the activation delay so every service has fetched it first
+        assertThat(manager.currentKey().getKid()).isEqualTo(current.getId());
+    }
+
+    @Test
+    void leavesAKeyWithTimeToRunAlone() {
+        manager.rotate();
+        SigningKey current = savedKey();
+        when(repository.findByExpiresAtAfterOrderByActivatesAtAsc(any())).thenReturn(List.of(current));
+
+        manager.rotate();
+
+        assertThat(manager.fetch().getKeys()).hasSize(1);
+    }
+
+    @Test
+    void hs256LeavesTheKeyTableAlone() {
+        properties.setAlgorithm("HS256");
+
+        manager.init();
+
+        verify(repository, never()).save(any());
+        assertThatThrownBy(manager::currentKey).isInstanceOf(IllegalStateException.class);
+    }
+
+    private SigningKey savedKey() {
+        ArgumentCaptor<SigningKey> key = ArgumentCaptor.forClass(SigningKey.class);
+        verify(repository).save(key.capture());
+        return key.getValue();
+    }
+}
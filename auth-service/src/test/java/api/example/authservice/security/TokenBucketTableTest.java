@@ -0,0 +1,103 @@
+package api.example.authservice.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTableTest {
+
+    @Test
+    void allowsUpToCapacityPerKey() {
+        TokenBucketTable table = new TokenBucketTable(3, Duration.ofHours(1), 100, 4);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(table.tryAcquire("alice")).isTrue();
+        }
+        assertThat(table.tryAcquire("alice")).isFalse();
+        assertThat(table.tryAcquire("bob")).isTrue();
+        assertThat(table.size()).isEqualTo(2);
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        TokenBucketTable table = new TokenBucketTable(1, Duration.ofMillis(20), 100, 1);
+
+        assertThat(table.tryAcquire("alice")).isTrue();
+        assertThat(table.tryAcquire("alice")).isFalse();
+        Thread.sleep(50);
+        assertThat(table.tryAcquire("alice")).isTrue();
+    }
+
+    @Test
+    void evictsOnlyBucketsThatHaveRefilled() throws InterruptedException {
+        // one token per millisecond: a bucket missing one token is full again almost at once,
+        // an emptied one takes a second
+        TokenBucketTable table = new TokenBucketTable(1000, Duration.ofSeconds(1), 64, 1);
+        for (int i = 0; i < 48; i++) {
+            String key = "key-" + i;
+            int takes = i % 2 == 0 ? 1000 : 1;
+            for (int t = 0; t < takes; t++) {
+                table.tryAcquire(key);
+            }
+        }
+        Thread.sleep(20);
+
+        assertThat(table.evictIdle()).isEqualTo(24);
+        assertThat(table.size()).isEqualTo(24);
+
+        // backward-shift deletion must leave every remaining key reachable: a lost key would be added again
+        for (int i = 0; i < 48; i += 2) {
+            table.tryAcquire("key-" + i);
+        }
+        assertThat(table.size()).isEqualTo(24);
+    }
+
+    @Test
+    void remainingBucketsKeepTheirTokensAfterEviction() throws InterruptedException {
+        TokenBucketTable table = new TokenBucketTable(1000, Duration.ofSeconds(1), 64, 1);
+        for (int i = 0; i < 32; i++) {
+            table.tryAcquire("idle-" + i);
+        }
+        for (int t = 0; t < 1000; t++) {
+            table.tryAcquire("busy");
+        }
+        Thread.sleep(20);
+        table.evictIdle();
+
+        // a bucket reset by a broken eviction would allow ~1000 more
+        int allowed = 0;
+        while (table.tryAcquire("busy")) {
+            allowed++;
+        }
+        assertThat(allowed).isLessThan(500);
+    }
+
+    @Test
+    void letsRequestsThroughWhenFullOfActiveBuckets() {
+        TokenBucketTable table = new TokenBucketTable(1, Duration.ofHours(1), 4, 1);
+        for (int i = 0; i < 4; i++) {
+            assertThat(table.tryAcquire("key-" + i)).isTrue();
+        }
+
+        assertThat(table.tryAcquire("key-4")).isTrue();
+        assertThat(table.tryAcquire("key-4")).isTrue();
+        assertThat(table.getOverflows()).isEqualTo(2);
+        assertThat(table.size()).isEqualTo(4);
+        assertThat(table.tryAcquire("key-0")).isFalse();
+    }
+
+    @Test
+    void makesRoomByEvictingIdleBucketsWhenFull() throws InterruptedException {
+        TokenBucketTable table = new TokenBucketTable(2, Duration.ofMillis(10), 4, 1);
+        for (int i = 0; i < 4; i++) {
+            table.tryAcquire("key-" + i);
+        }
+        Thread.sleep(30);
+
+        assertThat(table.tryAcquire("key-4")).isTrue();
+        assertThat(table.getOverflows()).isZero();
+        assertThat(table.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,56 @@
+package api.example.authservice.security;
+
+import api.example.authservice.entity.User;
+import api.example.authservice.service.UserDetailsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCacheEvictionListenerTest {
+
+    private final UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+    private final UserCacheEvictionListener listener = new UserCacheEvictionListener(provider());
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictsRightAwayOutsideATransaction() {
+        listener.onUserChanged(user());
+
+        verify(userDetailsService, times(1)).evict("jane@example.com");
+    }
+
+    @Test
+    void evictsAgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.onUserChanged(user());
+        verify(userDetailsService, times(1)).evict("jane@example.com");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(userDetailsService, times(2)).evict("jane@example.com");
+    }
+
+    @SuppressWarnings("unchecked")
+    private ObjectProvider<UserDetailsServiceImpl> provider() {
+        ObjectProvider<UserDetailsServiceImpl> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(userDetailsService);
+        return provider;
+    }
+
+    private static User user() {
+        return User.builder().email("jane@example.com").build();
+    }
+}
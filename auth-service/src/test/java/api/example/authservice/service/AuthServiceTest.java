@@ -0,0 +1,58 @@
+package api.example.authservice.service;
+
+import api.example.authservice.dto.BatchTokenValidationRequest;
+import api.example.authservice.dto.TokenValidationResponse;
+import api.example.authservice.repository.UserRepository;
+import api.example.shared.security.JwtVerifier;
+import api.example.shared.security.VerifiedToken;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private final JwtVerifier jwtVerifier = mock(JwtVerifier.class);
+    private final AuthService authService = new AuthService(mock(UserRepository.class), mock(PasswordEncoder.class),
+            mock(EmailService.class), mock(OtpStore.class), mock(TokenService.class), jwtVerifier);
+
+    @Test
+    void validatesABatchInRequestOrderAndEachTokenOnce() {
+        when(jwtVerifier.verify("good")).thenReturn(
+                new VerifiedToken("jane@example.com", "HR", 7L, Instant.now().plusSeconds(60), "jti-1"));
+
+        List<TokenValidationResponse> results = authService.validateTokens(Arrays.asList("good", "bad", "good", null));
+
+        assertThat(results).extracting(TokenValidationResponse::isValid).containsExactly(true, false, true, false);
+        assertThat(results.get(0).getEmail()).isEqualTo("jane@example.com");
+        assertThat(results.get(0).getUserId()).isEqualTo(7L);
+        verify(jwtVerifier, times(1)).verify("good");
+        verify(jwtVerifier, times(1)).verify("bad");
+    }
+
+    @Test
+    void batchRequestsAreLimitedTo500Tokens() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        BatchTokenValidationRequest request = new BatchTokenValidationRequest();
+
+        request.setTokens(Collections.nCopies(500, "token"));
+        assertThat(validator.validate(request)).isEmpty();
+
+        request.setTokens(Collections.nCopies(501, "token"));
+        assertThat(validator.validate(request)).hasSize(1);
+
+        request.setTokens(List.of());
+        assertThat(validator.validate(request)).hasSize(1);
+    }
+}
@@ -0,0 +1,163 @@
+package api.example.authservice.service;
+
+import api.example.authservice.config.EmailOutboxProperties;
+import api.example.authservice.entity.EmailOutbox;
+import api.example.authservice.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The claim query itself ({@code FOR UPDATE SKIP LOCKED}) needs PostgreSQL; here the repository is mocked
+ * and the tests cover what the sender does with the rows it claimed.
+ */
+class EmailOutboxSenderTest {
+
+    private final EmailOutboxRepository repository = mock(EmailOutboxRepository.class);
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final EmailOutboxProperties properties = new EmailOutboxProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmailOutboxSender sender;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        sender = new EmailOutboxSender(repository, mailSender, transactionTemplate, properties, meterRegistry,
+                "hr@example.com");
+    }
+
+    @Test
+    void sendsTheClaimedBatchInOneCallAndMarksItSent() {
+        EmailOutbox first = email(1L, 0);
+        EmailOutbox second = email(2L, 0);
+        when(repository.lockDueBatch(any(), eq(properties.getBatchSize()))).thenReturn(List.of(first, second));
+
+        sender.sendDue();
+
+        verify(mailSender, times(1)).send(any(SimpleMailMessage[].class));
+        verify(repository).saveAll(List.of(first, second));
+        assertThat(first.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+        assertThat(second.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+        assertThat(first.getSentAt()).isNotNull();
+        assertThat(first.getBody()).isEqualTo(EmailOutboxSender.REDACTED);
+        assertThat(meterRegistry.counter("email.outbox.sent").count()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsClaimingWhileBatchesAreFull() {
+        properties.setBatchSize(1);
+        when(repository.lockDueBatch(any(), eq(1)))
+                .thenReturn(List.of(email(1L, 0)))
+                .thenReturn(List.of(email(2L, 0)))
+                .thenReturn(List.of());
+
+        sender.sendDue();
+
+        verify(repository, times(3)).lockDueBatch(any(), eq(1));
+        verify(mailSender, times(2)).send(any(SimpleMailMessage[].class));
+    }
+
+    @Test
+    void retriesOnlyTheMessagesThatFailed() {
+        EmailOutbox delivered = email(1L, 0);
+        EmailOutbox bounced = email(2L, 0);
+        when(repository.lockDueBatch(any(), eq(properties.getBatchSize()))).thenReturn(List.of(delivered, bounced));
+        doAnswer(invocation -> {
+            Object bouncedMessage = invocation.getArguments()[1];
+            throw new MailSendException(Map.of(bouncedMessage, new RuntimeException("mailbox unavailable")));
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        LocalDateTime before = LocalDateTime.now();
+        sender.sendDue();
+
+        assertThat(delivered.getStatus()).isEqualTo(EmailOutbox.Status.SENT);
+        assertThat(bounced.getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+        assertThat(bounced.getAttempts()).isEqualTo(1);
+        assertThat(bounced.getLastError()).isEqualTo("mailbox unavailable");
+        assertThat(bounced.getBody()).isEqualTo("Body");
+        assertNextAttemptAfter(bounced, before, properties.getInitialBackoff());
+        assertThat(meterRegistry.counter("email.outbox.retried").count()).isEqualTo(1);
+    }
+
+    @Test
+    void connectionFailureRetriesTheWholeBatchWithExponentialBackoff() {
+        EmailOutbox email = email(1L, 2);
+        when(repository.lockDueBatch(any(), eq(properties.getBatchSize()))).thenReturn(List.of(email));
+        doThrow(new MailSendException("Connection refused")).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        LocalDateTime before = LocalDateTime.now();
+        sender.sendDue();
+
+        assertThat(email.getStatus()).isEqualTo(EmailOutbox.Status.PENDING);
+        assertThat(email.getAttempts()).isEqualTo(3);
+        assertNextAttemptAfter(email, before, properties.getInitialBackoff().multipliedBy(4));
+    }
+
+    @Test
+    void backoffIsCappedAtMaxBackoff() {
+        properties.setMaxAttempts(30);
+        EmailOutbox email = email(1L, 20);
+        when(repository.lockDueBatch(any(), eq(properties.getBatchSize()))).thenReturn(List.of(email));
+        doThrow(new MailSendException("Connection refused")).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        LocalDateTime before = LocalDateTime.now();
+        sender.sendDue();
+
+        assertNextAttemptAfter(email, before, properties.getMaxBackoff());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        EmailOutbox email = email(1L, properties.getMaxAttempts() - 1);
+        when(repository.lockDueBatch(any(), eq(properties.getBatchSize()))).thenReturn(List.of(email));
+        doThrow(new MailSendException("Connection refused")).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        sender.sendDue();
+
+        assertThat(email.getStatus()).isEqualTo(EmailOutbox.Status.FAILED);
+        assertThat(email.getAttempts()).isEqualTo(properties.getMaxAttempts());
+        assertThat(email.getBody()).isEqualTo(EmailOutboxSender.REDACTED);
+        assertThat(meterRegistry.counter("email.outbox.failed").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("email.outbox.retried").count()).isZero();
+    }
+
+    private static EmailOutbox email(Long id, int attempts) {
+        return EmailOutbox.builder()
+                .id(id)
+                .recipient("employee" + id + "@example.com")
+                .subject("Subject")
+                .body("Body")
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static void assertNextAttemptAfter(EmailOutbox email, LocalDateTime before, Duration delay) {
+        assertThat(email.getNextAttemptAt())
+                .isAfterOrEqualTo(before.plus(delay))
+                .isBeforeOrEqualTo(LocalDateTime.now().plus(delay));
+    }
+}
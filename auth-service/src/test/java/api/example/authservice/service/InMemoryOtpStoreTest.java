@@ -0,0 +1,102 @@
+package api.example.authservice.service;
+
+import api.example.authservice.config.OtpProperties;
+import api.example.authservice.service.OtpStore.Purpose;
+import api.example.authservice.service.OtpStore.Result;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryOtpStoreTest {
+
+    private static final String EMAIL = "jane@example.com";
+
+    private InMemoryOtpStore store;
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void issuedOtpIsValidOnce() {
+        store = new InMemoryOtpStore(new OtpProperties());
+
+        String otp = store.issue(EMAIL, Purpose.VERIFY_EMAIL);
+
+        assertThat(otp).hasSize(6).containsOnlyDigits();
+        assertThat(store.verify(EMAIL, Purpose.VERIFY_EMAIL, otp)).isEqualTo(Result.VALID);
+        assertThat(store.verify(EMAIL, Purpose.VERIFY_EMAIL, otp)).isEqualTo(Result.NOT_FOUND);
+    }
+
+    @Test
+    void emailIsCaseInsensitiveAndPurposesAreSeparate() {
+        store = new InMemoryOtpStore(new OtpProperties());
+
+        String otp = store.issue(EMAIL, Purpose.RESET_PASSWORD);
+
+        assertThat(store.verify(EMAIL, Purpose.VERIFY_EMAIL, otp)).isEqualTo(Result.NOT_FOUND);
+        assertThat(store.verify("Jane@Example.com", Purpose.RESET_PASSWORD, otp)).isEqualTo(Result.VALID);
+    }
+
+    @Test
+    void reissuingReplacesTheEarlierOtp() {
+        OtpProperties properties = new OtpProperties();
+        properties.setLength(9);
+        store = new InMemoryOtpStore(properties);
+
+        String first = store.issue(EMAIL, Purpose.VERIFY_EMAIL);
+        String second = store.issue(EMAIL, Purpose.VERIFY_EMAIL);
+
+        if (!first.equals(second)) {
+            assertThat(store.verify(EMAIL, Purpose.VERIFY_EMAIL, first)).isEqualTo(Result.INVALID);
+        }
+        assertThat(store.verify(EMAIL, Purpose.VERIFY_EMAIL, second)).isEqualTo(Result.VALID);
+    }
+
+    @Test
+    void discardsTheOtpAfterTooManyWrongGuesses() {
+        OtpProperties properties = new OtpProperties();
+        properties.setMaxAttempts(3);
+        store = new InMemoryOtpStore(properties);
+
+        String otp = store.issue(EMAIL, Purpose.VERIFY_EMAIL);
+        String wrong = otp.equals("000000") ? "000001" : "000000";
+
+        assertThat(store.verify(EMAIL, Purpose.VERIFY_EMAIL, wrong)).isEqualTo(Result.INVALID);
+        assertThat(store.verify(EMAIL, Purpose.VERIFY_EMAIL, null)).isEqualTo(Result.INVALID);
+        assertThat(store.verify(EMAIL, Purpose.VERIFY_EMAIL, wrong)).isEqualTo(Result.TOO_MANY_ATTEMPTS);
+        assertThat(store.verify(EMAIL, Purpose.VERIFY_EMAIL, otp)).isEqualTo(Result.NOT_FOUND);
+    }
+
+    @Test
+    void expiredOtpIsRejectedBeforeTheWheelSweepsIt() throws InterruptedException {
+        OtpProperties properties = new OtpProperties();
+        properties.setTtl(Duration.ofMillis(50));
+        properties.setTick(Duration.ofHours(1));
+        store = new InMemoryOtpStore(properties);
+
+        String otp = store.issue(EMAIL, Purpose.VERIFY_EMAIL);
+        Thread.sleep(100);
+
+        assertThat(store.verify(EMAIL, Purpose.VERIFY_EMAIL, otp)).isEqualTo(Result.EXPIRED);
+        assertThat(store.verify(EMAIL, Purpose.VERIFY_EMAIL, otp)).isEqualTo(Result.NOT_FOUND);
+    }
+
+    @Test
+    void wheelRemovesExpiredOtps() throws InterruptedException {
+        OtpProperties properties = new OtpProperties();
+        properties.setTtl(Duration.ofMillis(50));
+        properties.setTick(Duration.ofMillis(10));
+        store = new InMemoryOtpStore(properties);
+
+        String otp = store.issue(EMAIL, Purpose.VERIFY_EMAIL);
+        Thread.sleep(500);
+
+        // EXPIRED would mean the entry was still there and only the lookup noticed
+        assertThat(store.verify(EMAIL, Purpose.VERIFY_EMAIL, otp)).isEqualTo(Result.NOT_FOUND);
+    }
+}
@@ -0,0 +1,195 @@
+package api.example.authservice.service;
+
+import api.example.authservice.dto.TokenPair;
+import api.example.authservice.entity.RefreshTokenFamily;
+import api.example.authservice.entity.RevokedToken;
+import api.example.authservice.repository.RefreshTokenFamilyRepository;
+import api.example.authservice.repository.RevokedTokenRepository;
+import api.example.authservice.security.JwtUtil;
+import api.example.shared.dto.RevocationsResponse;
+import api.example.shared.security.RevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenServiceTest {
+
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final RefreshTokenFamilyRepository familyRepository = mock(RefreshTokenFamilyRepository.class);
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+    private final RevocationList revocationList = new RevocationList(100, 0.01);
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<RevocationList> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(revocationList);
+        tokenService = new TokenService(jwtUtil, familyRepository, revokedTokenRepository, provider);
+
+        when(jwtUtil.getAccessExpiration()).thenReturn(Duration.ofMinutes(15).toMillis());
+        when(jwtUtil.getRefreshExpiration()).thenReturn(Duration.ofDays(7).toMillis());
+        when(jwtUtil.generateAccessToken(anyString(), anyString(), anyLong(), anyString(), anyString()))
+                .thenAnswer(invocation -> "access:" + invocation.getArgument(3));
+        when(jwtUtil.generateRefreshToken(anyString(), anyString(), anyLong(), anyString(), anyString()))
+                .thenAnswer(invocation -> "refresh:" + invocation.getArgument(3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void issueStartsAFamilyForTheLogin() {
+        TokenPair pair = tokenService.issue("jane@example.com", "HR", 7L);
+
+        RefreshTokenFamily family = savedFamily();
+        assertThat(pair.getRefreshToken()).isEqualTo("refresh:" + family.getCurrentRefreshJti());
+        assertThat(pair.getAccessToken()).isEqualTo("access:" + family.getCurrentAccessJti());
+        assertThat(pair.getEmail()).isEqualTo("jane@example.com");
+        assertThat(pair.getRole()).isEqualTo("HR");
+        assertThat(pair.getUserId()).isEqualTo(7L);
+        assertThat(family.getExpiresAt()).isAfter(Instant.now().plus(Duration.ofDays(6)));
+    }
+
+    @Test
+    void rotateReplacesTheCurrentRefreshToken() {
+        RefreshTokenFamily family = family("refresh-1", "access-1");
+        when(familyRepository.findForUpdate("family-1")).thenReturn(Optional.of(family));
+        when(jwtUtil.parseClaims("token")).thenReturn(claims("refresh", "refresh-1", "family-1"));
+
+        TokenPair pair = tokenService.rotate("token");
+
+        assertThat(family.getCurrentRefreshJti()).isNotEqualTo("refresh-1");
+        assertThat(pair.getRefreshToken()).isEqualTo("refresh:" + family.getCurrentRefreshJti());
+        assertThat(family.isRevoked()).isFalse();
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void reusingASupersededRefreshTokenRevokesTheFamily() {
+        RefreshTokenFamily family = family("refresh-2", "access-2");
+        when(familyRepository.findForUpdate("family-1")).thenReturn(Optional.of(family));
+        when(jwtUtil.parseClaims("stolen")).thenReturn(claims("refresh", "refresh-1", "family-1"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThatThrownBy(() -> tokenService.rotate("stolen"))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessageContaining("reuse");
+
+        assertThat(family.isRevoked()).isTrue();
+        ArgumentCaptor<RevokedToken> revoked = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(revoked.capture());
+        assertThat(revoked.getValue().getJti()).isEqualTo("access-2");
+
+        // the local denylist only learns of it once the revocation has committed
+        assertThat(revocationList.isRevoked("access-2")).isFalse();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(revocationList.isRevoked("access-2")).isTrue();
+    }
+
+    @Test
+    void revokedFamiliesCannotBeRefreshed() {
+        RefreshTokenFamily family = family("refresh-1", "access-1");
+        family.setRevoked(true);
+        when(familyRepository.findForUpdate("family-1")).thenReturn(Optional.of(family));
+        when(jwtUtil.parseClaims("token")).thenReturn(claims("refresh", "refresh-1", "family-1"));
+
+        assertThatThrownBy(() -> tokenService.rotate("token")).isInstanceOf(BadCredentialsException.class);
+        verify(familyRepository, never()).save(any());
+    }
+
+    @Test
+    void accessTokensCannotBeUsedToRefresh() {
+        when(jwtUtil.parseClaims("access")).thenReturn(claims("access", "access-1", "family-1"));
+
+        assertThatThrownBy(() -> tokenService.rotate("access")).isInstanceOf(BadCredentialsException.class);
+        verify(familyRepository, never()).findForUpdate(any());
+    }
+
+    @Test
+    void revokeDeniesTheAccessTokenAndEndsItsFamily() {
+        RefreshTokenFamily family = family("refresh-1", "access-1");
+        when(familyRepository.findForUpdate("family-1")).thenReturn(Optional.of(family));
+        when(jwtUtil.parseClaims("access")).thenReturn(claims("access", "access-1", "family-1"));
+        // the second lookup sees the row the first one saved
+        when(revokedTokenRepository.existsByJti("access-1")).thenReturn(false, true);
+
+        tokenService.revoke("access");
+
+        assertThat(family.isRevoked()).isTrue();
+        // the family's access token is the one just revoked, so it is stored once
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void revocationsArePagedByCursor() {
+        List<RevokedToken> rows = new ArrayList<>();
+        for (long id = 6; id <= 1006; id++) {
+            rows.add(RevokedToken.builder().id(id).jti("jti-" + id).expiresAt(Instant.now().plusSeconds(60)).build());
+        }
+        when(revokedTokenRepository.findByIdGreaterThanAndExpiresAtAfter(eq(5L), any(), any(Pageable.class)))
+                .thenReturn(rows);
+
+        RevocationsResponse page = tokenService.getRevocations(5);
+
+        assertThat(page.getRevoked()).hasSize(1000);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getCursor()).isEqualTo(1005L);
+    }
+
+    private RefreshTokenFamily savedFamily() {
+        ArgumentCaptor<RefreshTokenFamily> family = ArgumentCaptor.forClass(RefreshTokenFamily.class);
+        verify(familyRepository).save(family.capture());
+        return family.getValue();
+    }
+
+    private static RefreshTokenFamily family(String refreshJti, String accessJti) {
+        return RefreshTokenFamily.builder()
+                .id("family-1")
+                .email("jane@example.com")
+                .role("HR")
+                .userId(7L)
+                .currentRefreshJti(refreshJti)
+                .currentAccessJti(accessJti)
+                .accessExpiresAt(Instant.now().plus(Duration.ofMinutes(10)))
+                .build();
+    }
+
+    private static Claims claims(String type, String jti, String familyId) {
+        Claims claims = Jwts.claims().setSubject("jane@example.com").setId(jti)
+                .setExpiration(Date.from(Instant.now().plus(Duration.ofMinutes(10))));
+        claims.put("type", type);
+        claims.put("fid", familyId);
+        return claims;
+    }
+}
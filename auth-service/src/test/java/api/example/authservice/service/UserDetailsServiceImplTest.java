@@ -0,0 +1,85 @@
+package api.example.authservice.service;
+
+import api.example.authservice.entity.User;
+import api.example.authservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserDetailsServiceImplTest {
+
+    private static final String EMAIL = "jane@example.com";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserDetailsServiceImpl service =
+            new UserDetailsServiceImpl(userRepository, new SimpleMeterRegistry(), Duration.ofMinutes(5), 100);
+
+    @Test
+    void loadsEachUserOnceWhileCached() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user(true)));
+
+        UserDetails first = service.loadUserByUsername(EMAIL);
+        UserDetails second = service.loadUserByUsername(EMAIL);
+
+        assertThat(first.getUsername()).isEqualTo(EMAIL);
+        assertThat(first.getAuthorities()).extracting(Object::toString).containsExactly("HR");
+        assertThat(second.getPassword()).isEqualTo("{bcrypt}hash");
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void erasingCredentialsDoesNotBlankTheCachedPassword() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user(true)));
+
+        UserDetails first = service.loadUserByUsername(EMAIL);
+        ((CredentialsContainer) first).eraseCredentials();
+
+        assertThat(first.getPassword()).isNull();
+        assertThat(service.loadUserByUsername(EMAIL).getPassword()).isEqualTo("{bcrypt}hash");
+    }
+
+    @Test
+    void evictionPicksUpTheChangedRow() {
+        when(userRepository.findByEmail(EMAIL))
+                .thenReturn(Optional.of(user(true)))
+                .thenReturn(Optional.of(user(false)));
+
+        assertThat(service.loadUserByUsername(EMAIL).isAccountNonLocked()).isTrue();
+        service.evict(EMAIL);
+
+        assertThat(service.loadUserByUsername(EMAIL).isAccountNonLocked()).isFalse();
+    }
+
+    @Test
+    void unknownUsersAreNotCached() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.loadUserByUsername(EMAIL)).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> service.loadUserByUsername(EMAIL)).isInstanceOf(UsernameNotFoundException.class);
+
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    private static User user(boolean accountNonLocked) {
+        User user = User.builder()
+                .email(EMAIL)
+                .password("{bcrypt}hash")
+                .role(User.Role.HR)
+                .build();
+        user.setEnabled(true);
+        user.setAccountNonLocked(accountNonLocked);
+        return user;
+    }
+}
@@ -0,0 +1,100 @@
+package api.example.benchmarks;
+
+import api.example.authservice.config.SigningKeyProperties;
+import api.example.authservice.entity.SigningKey;
+import api.example.authservice.repository.SigningKeyRepository;
+import api.example.authservice.security.JwtUtil;
+import api.example.authservice.security.SigningKeyManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the auth-service beans outside Spring, with the signing key table kept in memory.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long";
+    static final long ACCESS_EXPIRATION = 86_400_000L;
+    static final long REFRESH_EXPIRATION = 604_800_000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    static SigningKeyManager signingKeyManager(SigningKeyProperties properties) {
+        SigningKeyManager manager = new SigningKeyManager(inMemoryKeyRepository(), noOpTransactions(),
+                properties, REFRESH_EXPIRATION);
+        manager.init();
+        return manager;
+    }
+
+    static JwtUtil jwtUtil(String algorithm) {
+        SigningKeyProperties properties = new SigningKeyProperties();
+        properties.setAlgorithm(algorithm);
+        JwtUtil jwtUtil = new JwtUtil(signingKeyManager(properties), properties);
+        setField(jwtUtil, "secret", SECRET);
+        setField(jwtUtil, "jwtExpiration", ACCESS_EXPIRATION);
+        setField(jwtUtil, "refreshExpiration", REFRESH_EXPIRATION);
+        return jwtUtil;
+    }
+
+    static <T> ObjectProvider<T> provider(Class<T> type, T bean) {
+        return new StaticListableBeanFactory(Map.of(type.getSimpleName(), bean)).getBeanProvider(type);
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    private static SigningKeyRepository inMemoryKeyRepository() {
+        List<SigningKey> keys = new ArrayList<>();
+        return (SigningKeyRepository) Proxy.newProxyInstance(
+                SigningKeyRepository.class.getClassLoader(),
+                new Class<?>[]{SigningKeyRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByExpiresAtAfterOrderByActivatesAtAsc" -> new ArrayList<>(keys);
+                    case "save" -> {
+                        keys.add((SigningKey) args[0]);
+                        yield args[0];
+                    }
+                    case "deleteExpired" -> 0;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemorySigningKeyRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static TransactionTemplate noOpTransactions() {
+        return new TransactionTemplate(new AbstractPlatformTransactionManager() {
+            @Override
+            protected Object doGetTransaction() {
+                return new Object();
+            }
+
+            @Override
+            protected void doBegin(Object transaction, TransactionDefinition definition) {
+            }
+
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+            }
+
+            @Override
+            protected void doRollback(DefaultTransactionStatus status) {
+            }
+        });
+    }
+}
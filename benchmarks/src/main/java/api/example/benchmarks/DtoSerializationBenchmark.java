@@ -0,0 +1,106 @@
+package api.example.benchmarks;
+
+import api.example.employeeservice.dto.EmployeeDTO;
+import api.example.leaveservice.dto.LeaveDTO;
+import api.example.payrollservice.dto.PayrollDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the list responses, configured the way Spring Boot configures its ObjectMapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoSerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<EmployeeDTO> employees;
+    private List<PayrollDTO> payrolls;
+    private List<LeaveDTO> leaves;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        employees = new ArrayList<>(size);
+        payrolls = new ArrayList<>(size);
+        leaves = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 31, 9, 30);
+        for (long id = 1; id <= size; id++) {
+            String name = "Employee " + id;
+            String email = "employee" + id + "@example.com";
+            employees.add(new EmployeeDTO(id, "EMP-" + id, "Employee", String.valueOf(id), email,
+                    "+250788" + id, LocalDate.of(1990, 1, 1).plusDays(id % 3650), "FEMALE", "Engineer",
+                    "PERMANENT", LocalDate.of(2020, 1, 1).plusDays(id % 1500), "ACTIVE", id % 12, "Engineering"));
+
+            PayrollDTO payroll = new PayrollDTO();
+            payroll.setId(id);
+            payroll.setEmployeeId(id);
+            payroll.setEmployeeName(name);
+            payroll.setEmployeeEmail(email);
+            payroll.setCtc(BigDecimal.valueOf(1_200_000 + id));
+            payroll.setSalaryPerMonth(BigDecimal.valueOf(100_000 + id));
+            payroll.setDeduction(BigDecimal.valueOf(5_000));
+            payroll.setNetSalary(BigDecimal.valueOf(95_000 + id));
+            payroll.setStatus("PAID");
+            payroll.setCreatedAt(now);
+            payroll.setUpdatedAt(now);
+            payrolls.add(payroll);
+
+            LeaveDTO leave = new LeaveDTO();
+            leave.setId(id);
+            leave.setEmployeeId(id);
+            leave.setEmployeeName(name);
+            leave.setEmployeeEmail(email);
+            leave.setStartDate(LocalDate.of(2025, 2, 1).plusDays(id % 300));
+            leave.setEndDate(LocalDate.of(2025, 2, 3).plusDays(id % 300));
+            leave.setReason("Annual leave");
+            leave.setStatus("PENDING");
+            leaves.add(leave);
+        }
+    }
+
+    @Benchmark
+    public byte[] employees() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] payrolls() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(payrolls);
+    }
+
+    @Benchmark
+    public byte[] leaves() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(leaves);
+    }
+}
@@ -0,0 +1,84 @@
+package api.example.benchmarks;
+
+import api.example.employeeservice.dto.EmployeeDTO;
+import api.example.employeeservice.entity.Department;
+import api.example.employeeservice.entity.Employee;
+import api.example.employeeservice.factory.ContractEmployeeFactory;
+import api.example.employeeservice.factory.EmployeeFactoryProvider;
+import api.example.employeeservice.factory.PermanentEmployeeFactory;
+import api.example.employeeservice.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping and factory-based entity creation in employee-service.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeMappingBenchmark {
+
+    @Param({"PERMANENT", "CONTRACT"})
+    public String employeeType;
+
+    private EmployeeService employeeService;
+    private EmployeeFactoryProvider factoryProvider;
+    private Employee employee;
+    private EmployeeDTO dto;
+
+    @Setup
+    public void setUp() {
+        factoryProvider = new EmployeeFactoryProvider(
+                List.of(new PermanentEmployeeFactory(), new ContractEmployeeFactory()));
+        // mapToDTO touches no collaborator
+        employeeService = new EmployeeService(null, null, factoryProvider);
+
+        Department department = Department.builder()
+                .id(3L)
+                .departmentName("Engineering")
+                .location("Kigali")
+                .build();
+        employee = Employee.builder()
+                .id(42L)
+                .employeeId("EMP-0042")
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe@example.com")
+                .mobileNumber("+250788000042")
+                .dateOfBirth(LocalDate.of(1990, 4, 12))
+                .gender("FEMALE")
+                .designation("Software Engineer")
+                .employeeType(employeeType)
+                .joiningDate(LocalDate.of(2021, 9, 1))
+                .status("ACTIVE")
+                .department(department)
+                .build();
+        dto = employeeService.mapToDTO(employee);
+    }
+
+    @Benchmark
+    public EmployeeDTO mapToDTO() {
+        return employeeService.mapToDTO(employee);
+    }
+
+    @Benchmark
+    public Employee createEmployee() {
+        return factoryProvider.getFactory(employeeType).createEmployee(dto);
+    }
+}
@@ -0,0 +1,102 @@
+package api.example.benchmarks;
+
+import api.example.authservice.config.SigningKeyProperties;
+import api.example.authservice.security.JwtUtil;
+import api.example.shared.security.IdentityAssertion;
+import api.example.shared.security.JwksKeyResolver;
+import api.example.shared.security.JwksSource;
+import api.example.shared.security.JwtProperties;
+import api.example.shared.security.JwtVerifier;
+import api.example.shared.security.VerifiedToken;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request verification done by every service's JwtAuthenticationFilter:
+ * bearer tokens through {@link JwtVerifier}, with and without its digest cache,
+ * and the gateway identity header that replaces them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerifierBenchmark {
+
+    @Param({"ES256", "HS256"})
+    public String algorithm;
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    private JwksKeyResolver keyResolver;
+    private JwtVerifier verifier;
+    private String token;
+    private String identityHeader;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        SigningKeyProperties signingProperties = new SigningKeyProperties();
+        signingProperties.setAlgorithm(algorithm);
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil(algorithm);
+        token = jwtUtil.generateAccessToken("jane.doe@example.com", "EMPLOYEE", 42L,
+                UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(BenchmarkFixtures.SECRET);
+        properties.getCache().setEnabled(cache);
+        properties.getGateway().setIdentitySecret("benchmark-identity-secret-that-is-at-least-256-bits");
+        IdentityAssertion identityAssertion = new IdentityAssertion(properties.getGateway().getIdentitySecret());
+
+        keyResolver = new JwksKeyResolver(
+                BenchmarkFixtures.provider(JwksSource.class, BenchmarkFixtures.signingKeyManager(signingProperties)),
+                Keys.hmacShaKeyFor(BenchmarkFixtures.SECRET.getBytes(StandardCharsets.UTF_8)), null,
+                Duration.ofMinutes(5), Duration.ofSeconds(1),
+                new SimpleMeterRegistry(), "benchmarks");
+        verifier = new JwtVerifier(properties, new SimpleMeterRegistry(), "benchmarks",
+                identityAssertion, null, keyResolver);
+
+        // the key set is fetched in the background; wait for the first refresh
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (verifier.verify(token) == null) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Token never verified");
+            }
+            Thread.sleep(50);
+        }
+        identityHeader = identityAssertion.sign(verifier.verify(token));
+    }
+
+    @TearDown
+    public void tearDown() {
+        keyResolver.close();
+    }
+
+    @Benchmark
+    public VerifiedToken verifyBearerToken() {
+        return verifier.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyIdentityHeader() {
+        return verifier.verifyIdentity(identityHeader);
+    }
+}
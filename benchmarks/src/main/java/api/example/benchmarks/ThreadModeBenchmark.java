@@ -0,0 +1,96 @@
+package api.example.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of requests that each block on I/O for a few milliseconds, the shape of a servlet request doing
+ * JPA queries and RestTemplate calls. {@code platform} is Tomcat's default pool of 200 threads; {@code virtual}
+ * is one virtual thread per request, as with {@code spring.threads.virtual.enabled}.
+ * {@code blocking=synchronized} blocks while holding a monitor, which pins virtual threads to their carriers
+ * the way an old JDBC driver does. The virtual runs need Java 21 ({@code mvn -Pbenchmarks,java21 package}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"sleep", "synchronized"})
+    public String blocking;
+
+    @Param({"2000"})
+    public int requests;
+
+    @Param({"5"})
+    public int ioMillis;
+
+    private ExecutorService executor;
+    private Object[] monitors;
+
+    @Setup
+    public void setUp() throws Exception {
+        if ("virtual".equals(mode)) {
+            // looked up reflectively so the module still compiles for Java 17
+            executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } else {
+            executor = Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        }
+        monitors = new Object[requests];
+        for (int i = 0; i < requests; i++) {
+            monitors[i] = new Object();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(requests);
+        boolean pinned = "synchronized".equals(blocking);
+        for (int i = 0; i < requests; i++) {
+            Object monitor = monitors[i];
+            executor.execute(() -> {
+                try {
+                    if (pinned) {
+                        synchronized (monitor) {
+                            Thread.sleep(ioMillis);
+                        }
+                    } else {
+                        Thread.sleep(ioMillis);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
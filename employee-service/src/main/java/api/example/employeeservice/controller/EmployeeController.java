@@ -2,6 +2,8 @@ package api.example.employeeservice.controller;
 
 import api.example.employeeservice.dto.EmployeeDTO;
 import api.example.employeeservice.service.EmployeeService;
+import api.example.shared.constants.AppConstants;
+import api.example.shared.dto.PageResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +12,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/employees")
@@ -26,8 +29,19 @@ public class EmployeeController {
 
     @GetMapping
     @PreAuthorize("hasAnyAuthority('HR', 'MANAGER')")
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+    public ResponseEntity<PageResponse<EmployeeDTO>> getAllEmployees(
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) int page,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_SORT_BY) String sortBy,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(required = false) Long afterId) {
+        return ResponseEntity.ok(employeeService.getAllEmployees(page, size, sortBy, sortDir, afterId));
+    }
+
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyAuthority('HR', 'MANAGER', 'EMPLOYEE')")
+    public ResponseEntity<List<EmployeeDTO>> getEmployeesByIds(@RequestBody Set<Long> ids) {
+        return ResponseEntity.ok(employeeService.getEmployeesByIds(ids));
     }
 
     @GetMapping("/{id}")
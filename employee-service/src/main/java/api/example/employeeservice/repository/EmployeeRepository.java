@@ -1,8 +1,12 @@
 package api.example.employeeservice.repository;
 
 import api.example.employeeservice.entity.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -13,4 +17,14 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     List<Employee> findByDepartmentId(Long departmentId);
     boolean existsByEmail(String email);
     boolean existsByEmployeeId(String employeeId);
+
+    @EntityGraph(attributePaths = "department")
+    List<Employee> findByIdIn(Collection<Long> ids);
+
+    @Override
+    @EntityGraph(attributePaths = "department")
+    Page<Employee> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "department")
+    List<Employee> findByIdGreaterThan(Long id, Pageable pageable);
 }
\ No newline at end of file
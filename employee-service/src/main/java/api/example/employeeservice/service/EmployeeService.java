@@ -5,11 +5,18 @@ import api.example.employeeservice.entity.Employee;
 import api.example.employeeservice.entity.Department;
 import api.example.employeeservice.repository.EmployeeRepository;
 import api.example.employeeservice.repository.DepartmentRepository;
+import api.example.shared.dto.PageResponse;
+import api.example.shared.exception.BadRequestException;
+import api.example.shared.util.PageRequests;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import api.example.employeeservice.factory.EmployeeFactoryProvider;
 
@@ -18,6 +25,10 @@ import api.example.employeeservice.factory.EmployeeFactoryProvider;
 @RequiredArgsConstructor
 public class EmployeeService {
 
+    public static final int MAX_BATCH_SIZE = 1000;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "employeeId", "firstName", "lastName", "email",
+            "dateOfBirth", "designation", "employeeType", "joiningDate", "status");
+
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
     private final EmployeeFactoryProvider factoryProvider; // ADD THIS
@@ -49,10 +60,32 @@ public class EmployeeService {
     }
 
 
-    public List<EmployeeDTO> getAllEmployees() {
-        return employeeRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    /**
+     * Offset page by default; when {@code afterId} is given, a keyset page of employees
+     * with larger ids instead, which stays cheap however deep the client pages.
+     */
+    public PageResponse<EmployeeDTO> getAllEmployees(int page, int size, String sortBy, String sortDir, Long afterId) {
+        if (afterId != null) {
+            int pageSize = PageRequests.clamp(size);
+            List<Employee> employees = employeeRepository.findByIdGreaterThan(afterId, PageRequests.keyset(pageSize));
+            return PageResponse.keyset(employees, pageSize, Employee::getId, this::mapToDTOs);
+        }
+        Page<Employee> employees = employeeRepository.findAll(PageRequests.of(page, size, sortBy, sortDir, SORTABLE_FIELDS));
+        return PageResponse.of(employees, mapToDTOs(employees.getContent()));
+    }
+
+    /**
+     * Bulk lookup used by the other services to enrich their lists in one round-trip.
+     * Departments are fetched in the same query; unknown ids are silently skipped.
+     */
+    public List<EmployeeDTO> getEmployeesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Cannot fetch more than " + MAX_BATCH_SIZE + " employees at once");
+        }
+        return mapToDTOs(employeeRepository.findByIdIn(ids));
     }
 
     public EmployeeDTO getEmployeeById(Long id) {
@@ -125,7 +158,13 @@ public class EmployeeService {
         return employee;
     }
 
-    private EmployeeDTO mapToDTO(Employee employee) {
+    private List<EmployeeDTO> mapToDTOs(List<Employee> employees) {
+        return employees.stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList());
+    }
+
+    public EmployeeDTO mapToDTO(Employee employee) {
         EmployeeDTO dto = new EmployeeDTO();
         dto.setId(employee.getId());
         dto.setEmployeeId(employee.getEmployeeId());
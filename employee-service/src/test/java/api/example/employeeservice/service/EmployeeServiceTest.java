@@ -0,0 +1,107 @@
+package api.example.employeeservice.service;
+
+import api.example.employeeservice.dto.EmployeeDTO;
+import api.example.employeeservice.entity.Department;
+import api.example.employeeservice.entity.Employee;
+import api.example.employeeservice.factory.EmployeeFactoryProvider;
+import api.example.employeeservice.repository.DepartmentRepository;
+import api.example.employeeservice.repository.EmployeeRepository;
+import api.example.shared.dto.PageResponse;
+import api.example.shared.exception.BadRequestException;
+import api.example.shared.util.PageRequests;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class EmployeeServiceTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final EmployeeService service = new EmployeeService(employeeRepository, mock(DepartmentRepository.class),
+            mock(EmployeeFactoryProvider.class));
+
+    @Test
+    void batchLookupMapsEmployeesWithTheirDepartment() {
+        Set<Long> ids = Set.of(1L, 2L, 99L);
+        when(employeeRepository.findByIdIn(ids)).thenReturn(List.of(employee(1L), employee(2L)));
+
+        List<EmployeeDTO> employees = service.getEmployeesByIds(ids);
+
+        assertThat(employees).extracting(EmployeeDTO::getId).containsExactly(1L, 2L);
+        assertThat(employees.get(0).getDepartmentName()).isEqualTo("Engineering");
+    }
+
+    @Test
+    void emptyBatchSkipsTheQuery() {
+        assertThat(service.getEmployeesByIds(Set.of())).isEmpty();
+
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void batchIsCappedAtMaxBatchSize() {
+        Set<Long> atLimit = ids(EmployeeService.MAX_BATCH_SIZE);
+        Set<Long> overLimit = ids(EmployeeService.MAX_BATCH_SIZE + 1);
+        when(employeeRepository.findByIdIn(any())).thenReturn(List.of());
+
+        service.getEmployeesByIds(atLimit);
+        verify(employeeRepository).findByIdIn(atLimit);
+
+        assertThatThrownBy(() -> service.getEmployeesByIds(overLimit))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining(String.valueOf(EmployeeService.MAX_BATCH_SIZE));
+    }
+
+    @Test
+    void afterIdReturnsAKeysetPageWithoutCounting() {
+        when(employeeRepository.findByIdGreaterThan(eq(40L), any(Pageable.class)))
+                .thenReturn(List.of(employee(41L), employee(42L), employee(45L)));
+
+        PageResponse<EmployeeDTO> page = service.getAllEmployees(0, 2, "id", "asc", 40L);
+
+        assertThat(page.getContent()).extracting(EmployeeDTO::getId).containsExactly(41L, 42L);
+        assertThat(page.getNextAfterId()).isEqualTo(42L);
+        assertThat(page.isLast()).isFalse();
+        verify(employeeRepository).findByIdGreaterThan(40L, PageRequests.keyset(2));
+        verify(employeeRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void offsetPageRejectsUnsortableFields() {
+        assertThatThrownBy(() -> service.getAllEmployees(0, 20, "department.budget", "asc", null))
+                .isInstanceOf(BadRequestException.class);
+
+        verifyNoInteractions(employeeRepository);
+    }
+
+    private static Set<Long> ids(int count) {
+        return LongStream.rangeClosed(1, count).boxed().collect(Collectors.toSet());
+    }
+
+    private static Employee employee(Long id) {
+        Department department = new Department();
+        department.setId(10L);
+        department.setDepartmentName("Engineering");
+        return Employee.builder()
+                .id(id)
+                .employeeId("EMP-" + id)
+                .firstName("First" + id)
+                .lastName("Last" + id)
+                .email("employee" + id + "@example.com")
+                .department(department)
+                .build();
+    }
+}
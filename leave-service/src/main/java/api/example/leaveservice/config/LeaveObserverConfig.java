@@ -0,0 +1,26 @@
+package api.example.leaveservice.config;
+
+import api.example.leaveservice.observer.LeaveObserver;
+import api.example.leaveservice.observer.LeaveObserverDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(LeaveObserverProperties.class)
+public class LeaveObserverConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public LeaveObserverDispatcher leaveObserverDispatcher(List<LeaveObserver> observers,
+                                                           LeaveObserverProperties properties,
+                                                           MeterRegistry meterRegistry,
+                                                           Environment environment) {
+        return new LeaveObserverDispatcher(observers, properties, meterRegistry,
+                Threading.VIRTUAL.isActive(environment));
+    }
+}
@@ -0,0 +1,28 @@
+package api.example.leaveservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "leave.observers")
+public class LeaveObserverProperties {
+
+    /** Threads running unordered observers. */
+    private int threads = 4;
+    /** Single-threaded lanes running ordered observers; a leave always maps to the same lane. */
+    private int orderedLanes = 4;
+    /** Pending notifications per executor before the rejection policy applies. */
+    private int queueCapacity = 500;
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+    /** How long shutdown waits for queued notifications. */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    public enum RejectionPolicy {
+        /** Run the observer on the thread that committed the transaction. */
+        CALLER_RUNS,
+        /** Drop the notification and count it. */
+        DISCARD
+    }
+}
@@ -2,6 +2,8 @@ package api.example.leaveservice.controller;
 
 import api.example.leaveservice.dto.LeaveDTO;
 import api.example.leaveservice.service.LeaveService;
+import api.example.shared.constants.AppConstants;
+import api.example.shared.dto.PageResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -24,8 +26,13 @@ public class LeaveController {
 
     @GetMapping
     @PreAuthorize("hasAnyAuthority('HR', 'MANAGER')")
-    public ResponseEntity<List<LeaveDTO>> getAllLeaves() {
-        return ResponseEntity.ok(leaveService.getAllLeaves());
+    public ResponseEntity<PageResponse<LeaveDTO>> getAllLeaves(
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) int page,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_SORT_BY) String sortBy,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(required = false) Long afterId) {
+        return ResponseEntity.ok(leaveService.getAllLeaves(page, size, sortBy, sortDir, afterId));
     }
 
     @GetMapping("/employee/{employeeId}")
@@ -36,8 +43,13 @@ public class LeaveController {
 
     @GetMapping("/pending")
     @PreAuthorize("hasAnyAuthority('MANAGER', 'HR')")
-    public ResponseEntity<List<LeaveDTO>> getPendingLeaves() {
-        return ResponseEntity.ok(leaveService.getPendingLeaves());
+    public ResponseEntity<PageResponse<LeaveDTO>> getPendingLeaves(
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) int page,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_SORT_BY) String sortBy,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(required = false) Long afterId) {
+        return ResponseEntity.ok(leaveService.getPendingLeaves(page, size, sortBy, sortDir, afterId));
     }
 
     @PatchMapping("/{id}/approve")
@@ -2,6 +2,7 @@ package api.example.leaveservice.observer;
 
 import api.example.leaveservice.entity.Leave;
 import api.example.leaveservice.service.EmailNotificationService;
+import api.example.shared.dto.EmployeeSummaryDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -18,19 +19,19 @@ public class EmailNotificationObserver implements LeaveObserver {
     private final EmailNotificationService emailService;
 
     @Override
-    public void onLeaveStatusChanged(Leave leave) {
+    public void onLeaveStatusChanged(Leave leave, EmployeeSummaryDTO employee) {
         try {
             log.info("Email observer triggered for leave ID: {}", leave.getId());
 
             switch (leave.getStatus()) {
                 case APPROVED:
-                    emailService.sendLeaveApprovalEmail(leave);
+                    emailService.sendLeaveApprovalEmail(leave, employee);
                     break;
                 case REJECTED:
-                    emailService.sendLeaveRejectionEmail(leave);
+                    emailService.sendLeaveRejectionEmail(leave, employee);
                     break;
                 case PENDING:
-                    emailService.sendLeaveApplicationEmail(leave);
+                    emailService.sendLeaveApplicationEmail(leave, employee);
                     break;
             }
         } catch (Exception e) {
@@ -42,4 +43,10 @@ public class EmailNotificationObserver implements LeaveObserver {
     public String getObserverName() {
         return "EmailNotificationObserver";
     }
+
+    @Override
+    public boolean isOrdered() {
+        // an approval email must not arrive before the application confirmation
+        return true;
+    }
 }
\ No newline at end of file
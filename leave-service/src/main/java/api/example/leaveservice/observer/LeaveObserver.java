@@ -1,6 +1,7 @@
 package api.example.leaveservice.observer;
 
 import api.example.leaveservice.entity.Leave;
+import api.example.shared.dto.EmployeeSummaryDTO;
 
 /**
  * Observer Pattern Interface
@@ -11,11 +12,20 @@ public interface LeaveObserver {
     /**
      * Called when a leave status changes
      * @param leave The leave that was modified
+     * @param employee The leave's employee, looked up on the request thread; null if it could not be found
      */
-    void onLeaveStatusChanged(Leave leave);
+    void onLeaveStatusChanged(Leave leave, EmployeeSummaryDTO employee);
 
     /**
      * Returns the name of this observer for logging
      */
     String getObserverName();
+
+    /**
+     * Ordered observers see the changes of one leave in the order they were committed.
+     * Unordered observers run in parallel and may see them out of order.
+     */
+    default boolean isOrdered() {
+        return false;
+    }
 }
\ No newline at end of file
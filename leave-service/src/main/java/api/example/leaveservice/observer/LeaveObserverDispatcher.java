@@ -0,0 +1,202 @@
+package api.example.leaveservice.observer;
+
+import api.example.leaveservice.config.LeaveObserverProperties;
+import api.example.leaveservice.entity.Leave;
+import api.example.shared.dto.EmployeeSummaryDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers leave changes to the {@link LeaveObserver}s after the surrounding transaction commits,
+ * so observers never hold the writer's DB connection or see a change that was rolled back.
+ * Unordered observers share a bounded pool; ordered observers run on single-threaded lanes picked
+ * by leave id. When a queue is full the configured rejection policy applies; note that running a
+ * rejected ordered notification on the caller may overtake ones still queued on its lane.
+ * With virtual threads the pool and lanes keep their sizes and queues, which still bound the work in
+ * flight; only the threads behind them become virtual.
+ */
+@Slf4j
+public class LeaveObserverDispatcher {
+
+    private static final String METRIC_PREFIX = "leave.observers";
+
+    private final List<LeaveObserver> unorderedObservers = new ArrayList<>();
+    private final List<LeaveObserver> orderedObservers = new ArrayList<>();
+    private final LeaveObserverProperties properties;
+    private final boolean virtualThreads;
+    private final ThreadPoolExecutor pool;
+    private final ThreadPoolExecutor[] lanes;
+
+    private final Map<String, Timer> observerTimers = new HashMap<>();
+    private final Timer dispatchLag;
+    private final Counter rejected;
+
+    public LeaveObserverDispatcher(List<LeaveObserver> observers, LeaveObserverProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this(observers, properties, meterRegistry, false);
+    }
+
+    /**
+     * @param virtualThreads run observers on virtual threads; requires Java 21
+     */
+    public LeaveObserverDispatcher(List<LeaveObserver> observers, LeaveObserverProperties properties,
+                                   MeterRegistry meterRegistry, boolean virtualThreads) {
+        this.properties = properties;
+        this.virtualThreads = virtualThreads;
+        for (LeaveObserver observer : observers) {
+            (observer.isOrdered() ? orderedObservers : unorderedObservers).add(observer);
+            observerTimers.computeIfAbsent(observer.getObserverName(), name -> Timer.builder(METRIC_PREFIX + ".latency")
+                    .description("Time spent in each observer")
+                    .tag("observer", name)
+                    .register(meterRegistry));
+        }
+
+        this.pool = newExecutor(properties.getThreads(), "leave-observer-");
+        this.lanes = new ThreadPoolExecutor[orderedObservers.isEmpty() ? 0 : properties.getOrderedLanes()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = newExecutor(1, "leave-observer-lane-" + i + "-");
+        }
+
+        Gauge.builder(METRIC_PREFIX + ".queue.depth", this, LeaveObserverDispatcher::queueDepth)
+                .description("Notifications waiting for an observer thread")
+                .register(meterRegistry);
+        this.dispatchLag = Timer.builder(METRIC_PREFIX + ".dispatch.lag")
+                .description("Time from commit until an observer starts")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Notifications that did not fit in the queue")
+                .tag("policy", properties.getRejectionPolicy().name())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Notifies observers once the current transaction commits, or right away outside a transaction.
+     * Observers receive a copy of the leave as it is now, not the managed entity.
+     *
+     * @param employee the leave's employee, looked up by the caller on the request thread, since observer
+     *                 threads have no request credentials to forward to employee-service
+     */
+    public void dispatch(Leave leave, EmployeeSummaryDTO employee) {
+        Leave snapshot = snapshot(leave);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(snapshot, employee);
+                }
+            });
+        } else {
+            submit(snapshot, employee);
+        }
+    }
+
+    public void shutdown() throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+        pool.shutdown();
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        pool.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void submit(Leave leave, EmployeeSummaryDTO employee) {
+        log.info("Notifying {} observers about leave status change",
+                unorderedObservers.size() + orderedObservers.size());
+        long committedAt = System.nanoTime();
+        for (LeaveObserver observer : unorderedObservers) {
+            execute(pool, leave, employee, List.of(observer), committedAt);
+        }
+        if (!orderedObservers.isEmpty()) {
+            ThreadPoolExecutor lane = lanes[Math.floorMod(leave.getId().hashCode(), lanes.length)];
+            execute(lane, leave, employee, orderedObservers, committedAt);
+        }
+    }
+
+    private void execute(ThreadPoolExecutor executor, Leave leave, EmployeeSummaryDTO employee,
+                         List<LeaveObserver> observers, long committedAt) {
+        Runnable task = () -> {
+            dispatchLag.record(System.nanoTime() - committedAt, TimeUnit.NANOSECONDS);
+            observers.forEach(observer -> notifyObserver(observer, leave, employee));
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            if (properties.getRejectionPolicy() == LeaveObserverProperties.RejectionPolicy.CALLER_RUNS
+                    && !executor.isShutdown()) {
+                task.run();
+            } else {
+                log.warn("Dropped notification of leave {} for {} observers", leave.getId(), observers.size());
+            }
+        }
+    }
+
+    private void notifyObserver(LeaveObserver observer, Leave leave, EmployeeSummaryDTO employee) {
+        observerTimers.get(observer.getObserverName()).record(() -> {
+            try {
+                log.debug("Notifying observer: {}", observer.getObserverName());
+                observer.onLeaveStatusChanged(leave, employee);
+            } catch (Exception e) {
+                log.error("Observer {} failed: {}", observer.getObserverName(), e.getMessage());
+            }
+        });
+    }
+
+    private int queueDepth() {
+        int depth = pool.getQueue().size();
+        for (ThreadPoolExecutor lane : lanes) {
+            depth += lane.getQueue().size();
+        }
+        return depth;
+    }
+
+    private ThreadPoolExecutor newExecutor(int threads, String threadPrefix) {
+        ThreadFactory threadFactory;
+        if (virtualThreads) {
+            threadFactory = new VirtualThreadTaskExecutor(threadPrefix).getVirtualThreadFactory();
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            threadFactory = runnable -> new Thread(runnable, threadPrefix + threadNumber.incrementAndGet());
+        }
+        return new ThreadPoolExecutor(
+                threads, threads,
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    private static Leave snapshot(Leave leave) {
+        return Leave.builder()
+                .id(leave.getId())
+                .employeeId(leave.getEmployeeId())
+                .startDate(leave.getStartDate())
+                .endDate(leave.getEndDate())
+                .reason(leave.getReason())
+                .status(leave.getStatus())
+                .createdAt(leave.getCreatedAt())
+                .updatedAt(leave.getUpdatedAt())
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package api.example.leaveservice.observer;
 
 import api.example.leaveservice.entity.Leave;
+import api.example.shared.dto.EmployeeSummaryDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -9,7 +10,7 @@ import org.springframework.stereotype.Component;
 public class LoggingObserver implements LeaveObserver {
 
     @Override
-    public void onLeaveStatusChanged(Leave leave) {
+    public void onLeaveStatusChanged(Leave leave, EmployeeSummaryDTO employee) {
         log.info("Leave status changed: ID={}, EmployeeID={}, Status={}",
                 leave.getId(), leave.getEmployeeId(), leave.getStatus());
     }
@@ -1,6 +1,8 @@
 package api.example.leaveservice.repository;
 
 import api.example.leaveservice.entity.Leave;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -9,4 +11,7 @@ import java.util.List;
 public interface LeaveRepository extends JpaRepository<Leave, Long> {
     List<Leave> findByEmployeeId(Long employeeId);
     List<Leave> findByStatus(Leave.LeaveStatus status);
+    Page<Leave> findByStatus(Leave.LeaveStatus status, Pageable pageable);
+    List<Leave> findByIdGreaterThan(Long id, Pageable pageable);
+    List<Leave> findByStatusAndIdGreaterThan(Leave.LeaveStatus status, Long id, Pageable pageable);
 }
\ No newline at end of file
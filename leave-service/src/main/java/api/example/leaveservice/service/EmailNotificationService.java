@@ -1,30 +1,22 @@
 package api.example.leaveservice.service;
 
 import api.example.leaveservice.entity.Leave;
-import api.example.leaveservice.dto.EmployeeDTO;
-import lombok.RequiredArgsConstructor;
+import api.example.shared.dto.EmployeeSummaryDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.MailSender;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 /**
  * Service for sending email notifications
- * In a real application, this would integrate with an email service like SendGrid
+ * In a real application, this would integrate with an email service like SendGrid.
+ * The employee is passed in rather than looked up here: these run on observer threads, where there is no
+ * request whose credentials could be forwarded to employee-service.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class EmailNotificationService {
 
-    private final RestTemplate restTemplate;
-    private static final String EMPLOYEE_SERVICE_URL = "http://employee-service/api/employees";
-
-
-
-
-    public void sendLeaveApprovalEmail(Leave leave) {
-        EmployeeDTO employee = getEmployee(leave.getEmployeeId());
+    public void sendLeaveApprovalEmail(Leave leave, EmployeeSummaryDTO employee) {
         if (employee != null) {
             log.info("Sending approval email to: {} for leave ID: {}",
                     employee.getEmail(), leave.getId());
@@ -32,8 +24,7 @@ public class EmailNotificationService {
         }
     }
 
-    public void sendLeaveRejectionEmail(Leave leave) {
-        EmployeeDTO employee = getEmployee(leave.getEmployeeId());
+    public void sendLeaveRejectionEmail(Leave leave, EmployeeSummaryDTO employee) {
         if (employee != null) {
             log.info("Sending rejection email to: {} for leave ID: {}",
                     employee.getEmail(), leave.getId());
@@ -42,8 +33,7 @@ public class EmailNotificationService {
         }
     }
 
-    public void sendLeaveApplicationEmail(Leave leave) {
-        EmployeeDTO employee = getEmployee(leave.getEmployeeId());
+    public void sendLeaveApplicationEmail(Leave leave, EmployeeSummaryDTO employee) {
         if (employee != null) {
             log.info("Sending application confirmation email to: {} for leave ID: {}",
                     employee.getEmail(), leave.getId());
@@ -52,16 +42,4 @@ public class EmailNotificationService {
             //emailClient.send(employee.getEmail(), "Leave Applied", body);
         }
     }
-
-    private EmployeeDTO getEmployee(Long employeeId) {
-        try {
-            return restTemplate.getForObject(
-                    EMPLOYEE_SERVICE_URL + "/" + employeeId,
-                    EmployeeDTO.class
-            );
-        } catch (Exception e) {
-            log.error("Failed to fetch employee {}: {}", employeeId, e.getMessage());
-            return null;
-        }
-    }
 }
\ No newline at end of file
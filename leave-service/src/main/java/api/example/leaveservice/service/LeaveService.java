@@ -1,40 +1,34 @@
 package api.example.leaveservice.service;
 
 import api.example.leaveservice.dto.LeaveDTO;
-import api.example.leaveservice.dto.EmployeeDTO;
 import api.example.leaveservice.entity.Leave;
 import api.example.leaveservice.repository.LeaveRepository;
-import api.example.leaveservice.observer.LeaveObserver;
+import api.example.leaveservice.observer.LeaveObserverDispatcher;
+import api.example.shared.client.EmployeeDirectoryClient;
+import api.example.shared.client.EmployeeEnricher;
+import api.example.shared.dto.EmployeeSummaryDTO;
+import api.example.shared.dto.PageResponse;
+import api.example.shared.util.PageRequests;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LeaveService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "employeeId", "startDate", "endDate", "status",
+            "createdAt", "updatedAt");
+
     private final LeaveRepository leaveRepository;
-    private final RestTemplate restTemplate;
-    private static final String EMPLOYEE_SERVICE_URL = "http://employee-service/api/employees";
-    private final List<LeaveObserver> observers;
-
-    private void notifyObservers(Leave leave) {
-        log.info("Notifying {} observers about leave status change", observers.size());
-        observers.forEach(observer -> {
-            try {
-                log.debug("Notifying observer: {}", observer.getObserverName());
-                observer.onLeaveStatusChanged(leave);
-            } catch (Exception e) {
-                log.error("Observer {} failed: {}",
-                        observer.getObserverName(), e.getMessage());
-            }
-        });
-    }
+    private final EmployeeDirectoryClient employeeDirectoryClient;
+    private final EmployeeEnricher employeeEnricher;
+    private final LeaveObserverDispatcher observerDispatcher;
 
     @Transactional
     public LeaveDTO applyLeave(LeaveDTO dto) {
@@ -42,7 +36,7 @@ public class LeaveService {
             throw new RuntimeException("Start date cannot be after end date");
         }
 
-        EmployeeDTO employee = getEmployee(dto.getEmployeeId());
+        EmployeeSummaryDTO employee = employeeDirectoryClient.getEmployee(dto.getEmployeeId());
         if (employee == null) {
             throw new RuntimeException("Employee not found");
         }
@@ -59,7 +53,7 @@ public class LeaveService {
         log.info("Leave applied by employee: {}", dto.getEmployeeId());
 
         // NOTIFY OBSERVERS
-        notifyObservers(saved);
+        observerDispatcher.dispatch(saved, employee);
 
         return mapToDTO(saved, employee);
     }
@@ -74,9 +68,10 @@ public class LeaveService {
         log.info("Leave approved: {}", id);
 
         // NOTIFY OBSERVERS
-        notifyObservers(updated);
+        EmployeeSummaryDTO employee = employeeDirectoryClient.getEmployee(updated.getEmployeeId());
+        observerDispatcher.dispatch(updated, employee);
 
-        return mapToDTO(updated);
+        return mapToDTO(updated, employee);
     }
 
     @Transactional
@@ -90,48 +85,55 @@ public class LeaveService {
         log.info("Leave rejected: {}", id);
 
         // NOTIFY OBSERVERS
-        notifyObservers(updated);
+        EmployeeSummaryDTO employee = employeeDirectoryClient.getEmployee(updated.getEmployeeId());
+        observerDispatcher.dispatch(updated, employee);
 
-        return mapToDTO(updated);
+        return mapToDTO(updated, employee);
     }
 
 
 
-    public List<LeaveDTO> getAllLeaves() {
-        return leaveRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    /**
+     * Offset page by default; keyset page on id when {@code afterId} is given.
+     */
+    public PageResponse<LeaveDTO> getAllLeaves(int page, int size, String sortBy, String sortDir, Long afterId) {
+        if (afterId != null) {
+            int pageSize = PageRequests.clamp(size);
+            List<Leave> leaves = leaveRepository.findByIdGreaterThan(afterId, PageRequests.keyset(pageSize));
+            return PageResponse.keyset(leaves, pageSize, Leave::getId, this::mapToDTOs);
+        }
+        Page<Leave> leaves = leaveRepository.findAll(PageRequests.of(page, size, sortBy, sortDir, SORTABLE_FIELDS));
+        return PageResponse.of(leaves, mapToDTOs(leaves.getContent()));
     }
 
     public List<LeaveDTO> getLeavesByEmployeeId(Long employeeId) {
-        return leaveRepository.findByEmployeeId(employeeId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return mapToDTOs(leaveRepository.findByEmployeeId(employeeId));
     }
 
-    public List<LeaveDTO> getPendingLeaves() {
-        return leaveRepository.findByStatus(Leave.LeaveStatus.PENDING).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    public PageResponse<LeaveDTO> getPendingLeaves(int page, int size, String sortBy, String sortDir, Long afterId) {
+        if (afterId != null) {
+            int pageSize = PageRequests.clamp(size);
+            List<Leave> leaves = leaveRepository.findByStatusAndIdGreaterThan(
+                    Leave.LeaveStatus.PENDING, afterId, PageRequests.keyset(pageSize));
+            return PageResponse.keyset(leaves, pageSize, Leave::getId, this::mapToDTOs);
+        }
+        Page<Leave> leaves = leaveRepository.findByStatus(
+                Leave.LeaveStatus.PENDING, PageRequests.of(page, size, sortBy, sortDir, SORTABLE_FIELDS));
+        return PageResponse.of(leaves, mapToDTOs(leaves.getContent()));
     }
 
 
 
-    private EmployeeDTO getEmployee(Long employeeId) {
-        try {
-            return restTemplate.getForObject(EMPLOYEE_SERVICE_URL + "/" + employeeId, EmployeeDTO.class);
-        } catch (Exception e) {
-            log.error("Failed to fetch employee: {}", e.getMessage());
-            return null;
-        }
+    private List<LeaveDTO> mapToDTOs(List<Leave> leaves) {
+        return employeeEnricher.enrichBlocking(leaves, Leave::getEmployeeId, this::mapToDTO);
     }
 
     private LeaveDTO mapToDTO(Leave leave) {
-        EmployeeDTO employee = getEmployee(leave.getEmployeeId());
+        EmployeeSummaryDTO employee = employeeDirectoryClient.getEmployee(leave.getEmployeeId());
         return mapToDTO(leave, employee);
     }
 
-    private LeaveDTO mapToDTO(Leave leave, EmployeeDTO employee) {
+    private LeaveDTO mapToDTO(Leave leave, EmployeeSummaryDTO employee) {
         LeaveDTO dto = new LeaveDTO();
         dto.setId(leave.getId());
         dto.setEmployeeId(leave.getEmployeeId());
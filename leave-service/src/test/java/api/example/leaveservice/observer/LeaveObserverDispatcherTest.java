@@ -0,0 +1,216 @@
+package api.example.leaveservice.observer;
+
+import api.example.leaveservice.config.LeaveObserverProperties;
+import api.example.leaveservice.config.LeaveObserverProperties.RejectionPolicy;
+import api.example.leaveservice.entity.Leave;
+import api.example.leaveservice.entity.Leave.LeaveStatus;
+import api.example.shared.dto.EmployeeSummaryDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaveObserverDispatcherTest {
+
+    private final LeaveObserverProperties properties = new LeaveObserverProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LeaveObserverDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void orderedObserversSeeTheChangesOfALeaveInCommitOrder() throws InterruptedException {
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(200);
+        dispatcher = dispatcher(observer("audit", true, (leave, employee) -> {
+            seen.add(leave.getId() + ":" + leave.getReason());
+            done.countDown();
+        }));
+
+        for (int i = 0; i < 100; i++) {
+            dispatcher.dispatch(leave(1L, "change-" + i), null);
+            dispatcher.dispatch(leave(2L, "change-" + i), null);
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        for (long id = 1; id <= 2; id++) {
+            String prefix = id + ":";
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                expected.add(prefix + "change-" + i);
+            }
+            assertThat(seen.stream().filter(entry -> entry.startsWith(prefix)).toList()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void notifiesOnlyAfterTheTransactionCommits() throws InterruptedException {
+        CountDownLatch notified = new CountDownLatch(1);
+        dispatcher = dispatcher(observer("email", false, (leave, employee) -> notified.countDown()));
+        TransactionSynchronizationManager.initSynchronization();
+
+        dispatcher.dispatch(leave(1L, "holiday"), null);
+
+        assertThat(notified.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(notified.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void observersGetASnapshotOfTheLeave() throws InterruptedException {
+        List<LeaveStatus> seen = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch notified = new CountDownLatch(1);
+        dispatcher = dispatcher(observer("email", false, (leave, employee) -> {
+            seen.add(leave.getStatus());
+            notified.countDown();
+        }));
+        TransactionSynchronizationManager.initSynchronization();
+        Leave leave = leave(1L, "holiday");
+
+        dispatcher.dispatch(leave, null);
+        leave.setStatus(LeaveStatus.REJECTED);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(notified.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(seen).containsExactly(LeaveStatus.PENDING);
+    }
+
+    @Test
+    void failingObserverDoesNotStopTheOthersOnItsLane() throws InterruptedException {
+        CountDownLatch notified = new CountDownLatch(1);
+        dispatcher = dispatcher(
+                observer("broken", true, (leave, employee) -> {
+                    throw new IllegalStateException("boom");
+                }),
+                observer("audit", true, (leave, employee) -> notified.countDown()));
+
+        dispatcher.dispatch(leave(1L, "holiday"), null);
+
+        assertThat(notified.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void discardPolicyDropsAndCountsWhatDoesNotFit() throws InterruptedException {
+        properties.setRejectionPolicy(RejectionPolicy.DISCARD);
+        properties.setQueueCapacity(1);
+        BlockingObserver blocking = new BlockingObserver();
+        dispatcher = dispatcher(blocking);
+
+        dispatcher.dispatch(leave(1L, "running"), null);
+        assertThat(blocking.started.await(5, TimeUnit.SECONDS)).isTrue();
+        dispatcher.dispatch(leave(2L, "queued"), null);
+        dispatcher.dispatch(leave(3L, "dropped"), null);
+        blocking.release.countDown();
+        dispatcher.shutdown();
+
+        assertThat(blocking.reasons).containsExactly("running", "queued");
+        assertThat(meterRegistry.get("leave.observers.rejected").tag("policy", "DISCARD").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void callerRunsPolicyRunsWhatDoesNotFitOnTheCommittingThread() throws InterruptedException {
+        properties.setRejectionPolicy(RejectionPolicy.CALLER_RUNS);
+        properties.setQueueCapacity(1);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        dispatcher = dispatcher(observer("email", false, (leave, employee) -> {
+            threads.add(leave.getReason() + "@" + Thread.currentThread().getName());
+            if (leave.getReason().equals("running")) {
+                started.countDown();
+                await(release);
+            }
+        }));
+
+        dispatcher.dispatch(leave(1L, "running"), null);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        dispatcher.dispatch(leave(2L, "queued"), null);
+        dispatcher.dispatch(leave(3L, "overflow"), null);
+
+        assertThat(threads).contains("overflow@" + Thread.currentThread().getName());
+        release.countDown();
+        assertThat(meterRegistry.get("leave.observers.rejected").tag("policy", "CALLER_RUNS").counter().count())
+                .isEqualTo(1);
+    }
+
+    private LeaveObserverDispatcher dispatcher(LeaveObserver... observers) {
+        properties.setThreads(1);
+        properties.setOrderedLanes(2);
+        return new LeaveObserverDispatcher(List.of(observers), properties, meterRegistry);
+    }
+
+    private static LeaveObserver observer(String name, boolean ordered,
+                                          BiConsumer<Leave, EmployeeSummaryDTO> onChange) {
+        return new LeaveObserver() {
+            @Override
+            public void onLeaveStatusChanged(Leave leave, EmployeeSummaryDTO employee) {
+                onChange.accept(leave, employee);
+            }
+
+            @Override
+            public String getObserverName() {
+                return name;
+            }
+
+            @Override
+            public boolean isOrdered() {
+                return ordered;
+            }
+        };
+    }
+
+    private static Leave leave(Long id, String reason) {
+        return Leave.builder()
+                .id(id)
+                .employeeId(7L)
+                .reason(reason)
+                .status(LeaveStatus.PENDING)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class BlockingObserver implements LeaveObserver {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> reasons = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void onLeaveStatusChanged(Leave leave, EmployeeSummaryDTO employee) {
+            reasons.add(leave.getReason());
+            started.countDown();
+            await(release);
+        }
+
+        @Override
+        public String getObserverName() {
+            return "blocking";
+        }
+    }
+}
@@ -2,6 +2,8 @@ package api.example.payrollservice.controller;
 
 import api.example.payrollservice.dto.PayrollDTO;
 import api.example.payrollservice.service.PayrollService;
+import api.example.shared.constants.AppConstants;
+import api.example.shared.dto.PageResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -24,8 +26,13 @@ public class PayrollController {
 
     @GetMapping
     @PreAuthorize("hasAnyAuthority('HR', 'MANAGER')")
-    public ResponseEntity<List<PayrollDTO>> getAllPayrolls() {
-        return ResponseEntity.ok(payrollService.getAllPayrolls());
+    public ResponseEntity<PageResponse<PayrollDTO>> getAllPayrolls(
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) int page,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_SORT_BY) String sortBy,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(required = false) Long afterId) {
+        return ResponseEntity.ok(payrollService.getAllPayrolls(page, size, sortBy, sortDir, afterId));
     }
 
     @GetMapping("/{id}")
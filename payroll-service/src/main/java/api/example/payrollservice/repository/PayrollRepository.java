@@ -1,6 +1,7 @@
 package api.example.payrollservice.repository;
 
 import api.example.payrollservice.entity.Payroll;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -9,4 +10,5 @@ import java.util.List;
 public interface PayrollRepository extends JpaRepository<Payroll, Long> {
     List<Payroll> findByEmployeeId(Long employeeId);
     List<Payroll> findByStatus(Payroll.PayrollStatus status);
+    List<Payroll> findByIdGreaterThan(Long id, Pageable pageable);
 }
\ No newline at end of file
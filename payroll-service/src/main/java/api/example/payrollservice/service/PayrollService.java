@@ -1,28 +1,37 @@
 package api.example.payrollservice.service;
 
-import api.example.payrollservice.dto.EmployeeDTO;
 import api.example.payrollservice.dto.PayrollDTO;
 import api.example.payrollservice.entity.Payroll;
 import api.example.payrollservice.repository.PayrollRepository;
+import api.example.shared.client.EmployeeDirectoryClient;
+import api.example.shared.client.EmployeeEnricher;
+import api.example.shared.dto.EmployeeSummaryDTO;
+import api.example.shared.dto.PageResponse;
+import api.example.shared.util.PageRequests;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PayrollService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "employeeId", "ctc", "salaryPerMonth", "deduction",
+            "status", "createdAt", "updatedAt");
+
     private final PayrollRepository payrollRepository;
-    private final EmployeeServiceClient employeeServiceClient;
+    private final EmployeeDirectoryClient employeeDirectoryClient;
+    private final EmployeeEnricher employeeEnricher;
 
     @Transactional
     public PayrollDTO createPayroll(PayrollDTO dto) {
         // Verify employee exists
-        EmployeeDTO employee = employeeServiceClient.getEmployeeById(dto.getEmployeeId());
+        EmployeeSummaryDTO employee = employeeDirectoryClient.getEmployee(dto.getEmployeeId());
         if (employee == null) {
             throw new RuntimeException("Employee not found");
         }
@@ -40,10 +49,17 @@ public class PayrollService {
         return mapToDTO(saved, employee);
     }
 
-    public List<PayrollDTO> getAllPayrolls() {
-        return payrollRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    /**
+     * Offset page by default; keyset page on id when {@code afterId} is given.
+     */
+    public PageResponse<PayrollDTO> getAllPayrolls(int page, int size, String sortBy, String sortDir, Long afterId) {
+        if (afterId != null) {
+            int pageSize = PageRequests.clamp(size);
+            List<Payroll> payrolls = payrollRepository.findByIdGreaterThan(afterId, PageRequests.keyset(pageSize));
+            return PageResponse.keyset(payrolls, pageSize, Payroll::getId, this::mapToDTOs);
+        }
+        Page<Payroll> payrolls = payrollRepository.findAll(PageRequests.of(page, size, sortBy, sortDir, SORTABLE_FIELDS));
+        return PageResponse.of(payrolls, mapToDTOs(payrolls.getContent()));
     }
 
     public PayrollDTO getPayrollById(Long id) {
@@ -53,9 +69,7 @@ public class PayrollService {
     }
 
     public List<PayrollDTO> getPayrollsByEmployeeId(Long employeeId) {
-        return payrollRepository.findByEmployeeId(employeeId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return mapToDTOs(payrollRepository.findByEmployeeId(employeeId));
     }
 
     @Transactional
@@ -82,12 +96,16 @@ public class PayrollService {
         log.info("Deleted payroll: {}", id);
     }
 
+    private List<PayrollDTO> mapToDTOs(List<Payroll> payrolls) {
+        return employeeEnricher.enrichBlocking(payrolls, Payroll::getEmployeeId, this::mapToDTO);
+    }
+
     private PayrollDTO mapToDTO(Payroll payroll) {
-        EmployeeDTO employee = employeeServiceClient.getEmployeeById(payroll.getEmployeeId());
+        EmployeeSummaryDTO employee = employeeDirectoryClient.getEmployee(payroll.getEmployeeId());
         return mapToDTO(payroll, employee);
     }
 
-    private PayrollDTO mapToDTO(Payroll payroll, EmployeeDTO employee) {
+    private PayrollDTO mapToDTO(Payroll payroll, EmployeeSummaryDTO employee) {
         PayrollDTO dto = new PayrollDTO();
         dto.setId(payroll.getId());
         dto.setEmployeeId(payroll.getEmployeeId());
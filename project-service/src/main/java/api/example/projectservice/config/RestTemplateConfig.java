@@ -1,16 +1,22 @@
 package api.example.projectservice.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
+    /**
+     * Uses the pooled client from shared-library unless {@code http-client.enabled} is false.
+     */
     @Bean
     @LoadBalanced
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(ObjectProvider<ClientHttpRequestFactory> requestFactory) {
+        return new RestTemplate(requestFactory.getIfAvailable(SimpleClientHttpRequestFactory::new));
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package api.example.projectservice.controller;
 
 import api.example.projectservice.dto.ProjectDTO;
 import api.example.projectservice.service.ProjectService;
+import api.example.shared.constants.AppConstants;
+import api.example.shared.dto.PageResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -24,8 +26,13 @@ public class ProjectController {
 
     @GetMapping
     @PreAuthorize("hasAnyAuthority('EMPLOYEE', 'MANAGER', 'HR')")
-    public ResponseEntity<List<ProjectDTO>> getAllProjects() {
-        return ResponseEntity.ok(projectService.getAllProjects());
+    public ResponseEntity<PageResponse<ProjectDTO>> getAllProjects(
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) int page,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_SORT_BY) String sortBy,
+            @RequestParam(defaultValue = AppConstants.DEFAULT_SORT_DIRECTION) String sortDir,
+            @RequestParam(required = false) Long afterId) {
+        return ResponseEntity.ok(projectService.getAllProjects(page, size, sortBy, sortDir, afterId));
     }
 
     @GetMapping("/{id}")
@@ -1,17 +0,0 @@
-package api.example.projectservice.dto;
-
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class EmployeeDTO {
-    private Long id;
-    private String employeeId;
-    private String firstName;
-    private String lastName;
-    private String email;
-    private String designation;
-}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package api.example.projectservice.repository;
 
 import api.example.projectservice.entity.Project;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -9,4 +10,5 @@ import java.util.List;
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findByAssignedToEmployeeId(Long employeeId);
     List<Project> findByStatus(Project.ProjectStatus status);
+    List<Project> findByIdGreaterThan(Long id, Pageable pageable);
 }
\ No newline at end of file
@@ -1,29 +1,36 @@
 package api.example.projectservice.service;
 
 import api.example.projectservice.dto.ProjectDTO;
-import api.example.projectservice.dto.EmployeeDTO;
 import api.example.projectservice.entity.Project;
 import api.example.projectservice.repository.ProjectRepository;
+import api.example.shared.client.EmployeeDirectoryClient;
+import api.example.shared.client.EmployeeEnricher;
+import api.example.shared.dto.EmployeeSummaryDTO;
+import api.example.shared.dto.PageResponse;
+import api.example.shared.util.PageRequests;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
 
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "startDate", "endDate", "status",
+            "assignedToEmployeeId", "createdAt", "updatedAt");
+
     private final ProjectRepository projectRepository;
-    private final RestTemplate restTemplate;
-    private static final String EMPLOYEE_SERVICE_URL = "http://employee-service/api/employees";
+    private final EmployeeDirectoryClient employeeDirectoryClient;
+    private final EmployeeEnricher employeeEnricher;
 
     @Transactional
     public ProjectDTO createProject(ProjectDTO dto) {
-        EmployeeDTO employee = getEmployee(dto.getAssignedToEmployeeId());
+        EmployeeSummaryDTO employee = employeeDirectoryClient.getEmployee(dto.getAssignedToEmployeeId());
         if (employee == null) {
             throw new RuntimeException("Employee not found");
         }
@@ -41,10 +48,17 @@ public class ProjectService {
         return mapToDTO(saved, employee);
     }
 
-    public List<ProjectDTO> getAllProjects() {
-        return projectRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    /**
+     * Offset page by default; keyset page on id when {@code afterId} is given.
+     */
+    public PageResponse<ProjectDTO> getAllProjects(int page, int size, String sortBy, String sortDir, Long afterId) {
+        if (afterId != null) {
+            int pageSize = PageRequests.clamp(size);
+            List<Project> projects = projectRepository.findByIdGreaterThan(afterId, PageRequests.keyset(pageSize));
+            return PageResponse.keyset(projects, pageSize, Project::getId, this::mapToDTOs);
+        }
+        Page<Project> projects = projectRepository.findAll(PageRequests.of(page, size, sortBy, sortDir, SORTABLE_FIELDS));
+        return PageResponse.of(projects, mapToDTOs(projects.getContent()));
     }
 
     public ProjectDTO getProjectById(Long id) {
@@ -54,9 +68,7 @@ public class ProjectService {
     }
 
     public List<ProjectDTO> getProjectsByEmployeeId(Long employeeId) {
-        return projectRepository.findByAssignedToEmployeeId(employeeId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return mapToDTOs(projectRepository.findByAssignedToEmployeeId(employeeId));
     }
 
     @Transactional
@@ -84,21 +96,16 @@ public class ProjectService {
         log.info("Project deleted: {}", id);
     }
 
-    private EmployeeDTO getEmployee(Long employeeId) {
-        try {
-            return restTemplate.getForObject(EMPLOYEE_SERVICE_URL + "/" + employeeId, EmployeeDTO.class);
-        } catch (Exception e) {
-            log.error("Failed to fetch employee: {}", e.getMessage());
-            return null;
-        }
+    private List<ProjectDTO> mapToDTOs(List<Project> projects) {
+        return employeeEnricher.enrichBlocking(projects, Project::getAssignedToEmployeeId, this::mapToDTO);
     }
 
     private ProjectDTO mapToDTO(Project project) {
-        EmployeeDTO employee = getEmployee(project.getAssignedToEmployeeId());
+        EmployeeSummaryDTO employee = employeeDirectoryClient.getEmployee(project.getAssignedToEmployeeId());
         return mapToDTO(project, employee);
     }
 
-    private ProjectDTO mapToDTO(Project project, EmployeeDTO employee) {
+    private ProjectDTO mapToDTO(Project project, EmployeeSummaryDTO employee) {
         ProjectDTO dto = new ProjectDTO();
         dto.setId(project.getId());
         dto.setName(project.getName());
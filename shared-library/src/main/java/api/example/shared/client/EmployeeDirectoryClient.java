@@ -0,0 +1,423 @@
+package api.example.shared.client;
+
+import api.example.shared.dto.EmployeeSummaryDTO;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single entry point for looking up employees from employee-service.
+ * <ul>
+ *     <li>Lookups are memoised per HTTP request, so one request never fetches the same employee twice.</li>
+ *     <li>Concurrent misses for the same id share one in-flight call.</li>
+ *     <li>Results are kept in a size-bounded near cache; entries older than {@code refresh-after}
+ *     are served stale while a background reload runs, and are dropped after {@code ttl}.</li>
+ *     <li>With {@code hedging.enabled}, a single-employee call that is slower than the observed p95 gets a
+ *     second, identical call and the first answer wins. Hedges are capped at {@code budget-percent} of calls.</li>
+ * </ul>
+ * The caller's Authorization and identity headers are forwarded so employee-service can authenticate the call.
+ * Lookups that fail return {@code null} rather than throwing. Lists are looked up in batches by
+ * {@link EmployeeEnricher}, which shares this client's near cache.
+ */
+@Slf4j
+public class EmployeeDirectoryClient implements AutoCloseable {
+
+    private static final String MEMO_ATTRIBUTE = EmployeeDirectoryClient.class.getName() + ".memo";
+    private static final String METRIC_PREFIX = "employee.directory";
+
+    private final RestTemplate restTemplate;
+    private final EmployeeDirectoryProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final AsyncCache<Long, CachedEmployee> cache;
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+    private final long refreshAfterNanos;
+
+    private final Timer singleFetchTimer;
+    private final Counter staleServed;
+
+    private final EmployeeDirectoryProperties.Hedging hedging;
+    private final HedgeBudget hedgeBudget;
+    private volatile long hedgeDelayNanos;
+    private volatile long hedgeDelayComputedAt;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final Counter hedgesDenied;
+
+    public EmployeeDirectoryClient(RestTemplate restTemplate, EmployeeDirectoryProperties properties,
+                                   MeterRegistry meterRegistry, String applicationName) {
+        this.restTemplate = restTemplate;
+        this.properties = properties;
+        this.refreshAfterNanos = properties.getCache().getRefreshAfter().toNanos();
+        this.executor = newExecutor(properties);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getMaxSize())
+                .expireAfterWrite(properties.getCache().getTtl())
+                .executor(executor)
+                .recordStats()
+                .buildAsync();
+
+        Tags tags = Tags.of("application", applicationName);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), METRIC_PREFIX, tags);
+        this.hedging = properties.getHedging();
+        this.singleFetchTimer = Timer.builder(METRIC_PREFIX + ".fetch")
+                .description("Latency of calls to employee-service")
+                .tags(tags).tag("operation", "single")
+                // the hedge delay is read from this percentile
+                .publishPercentiles(hedging.isEnabled() ? new double[]{hedging.getPercentile()} : new double[0])
+                .register(meterRegistry);
+        this.staleServed = Counter.builder(METRIC_PREFIX + ".stale")
+                .description("Lookups answered from an entry that was being refreshed in the background")
+                .tags(tags)
+                .register(meterRegistry);
+
+        this.hedgeBudget = new HedgeBudget(hedging.getBudgetPercent(), hedging.getMaxBurst());
+        this.hedgeDelayNanos = hedging.getInitialDelay().toNanos();
+        this.hedgeDelayComputedAt = System.nanoTime();
+        this.hedgesSent = hedgeCounter(meterRegistry, tags, "sent", "Second calls sent for slow lookups");
+        this.hedgesWon = hedgeCounter(meterRegistry, tags, "won", "Lookups answered by the second call");
+        this.hedgesDenied = hedgeCounter(meterRegistry, tags, "denied", "Slow lookups not hedged because the budget was spent");
+        if (hedging.isEnabled()) {
+            Gauge.builder(METRIC_PREFIX + ".hedge.delay", this, client -> client.hedgeDelayNanos / 1e6)
+                    .description("Milliseconds a lookup waits before it is hedged")
+                    .tags(tags)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    public EmployeeSummaryDTO getEmployee(Long employeeId) {
+        if (employeeId == null) {
+            return null;
+        }
+
+        Map<Long, EmployeeSummaryDTO> memo = requestMemo();
+        if (memo != null && memo.containsKey(employeeId)) {
+            return memo.get(employeeId);
+        }
+
+        HttpHeaders headers = forwardedHeaders();
+        CachedEmployee cached = null;
+        try {
+            cached = await(cache.get(employeeId, (id, pool) -> fetchOneHedged(id, headers, pool)));
+        } catch (Exception e) {
+            log.error("Failed to fetch employee {}: {}", employeeId, e.getMessage());
+        }
+
+        EmployeeSummaryDTO employee = null;
+        if (cached != null) {
+            refreshIfStale(employeeId, cached, headers);
+            employee = cached.getEmployee();
+        }
+        if (memo != null) {
+            memo.put(employeeId, employee);
+        }
+        return employee;
+    }
+
+    /**
+     * The employees the near cache can answer right now, without calling employee-service.
+     * Stale entries are returned and reloaded in the background as usual.
+     */
+    public Map<Long, EmployeeSummaryDTO> getCachedEmployees(Collection<Long> employeeIds) {
+        Map<Long, EmployeeSummaryDTO> employees = new HashMap<>();
+        HttpHeaders headers = null;
+        for (Long id : employeeIds) {
+            CompletableFuture<CachedEmployee> future = id != null ? cache.getIfPresent(id) : null;
+            if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+                continue;
+            }
+            CachedEmployee cached = future.getNow(null);
+            if (cached != null) {
+                if (headers == null) {
+                    headers = forwardedHeaders();
+                }
+                refreshIfStale(id, cached, headers);
+                employees.put(id, cached.getEmployee());
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * Adds employees fetched outside this client (see {@link EmployeeEnricher}) to the near cache.
+     */
+    public void cacheEmployees(Collection<EmployeeSummaryDTO> employees) {
+        for (EmployeeSummaryDTO employee : employees) {
+            cache.put(employee.getId(), CompletableFuture.completedFuture(new CachedEmployee(employee)));
+        }
+    }
+
+    /**
+     * The current request's Authorization and identity headers, to be sent with calls made on its behalf.
+     * Must be called on the request thread.
+     */
+    public HttpHeaders forwardedHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            for (String name : properties.getForwardedHeaders()) {
+                String value = request.getHeader(name);
+                if (value != null) {
+                    headers.set(name, value);
+                }
+            }
+        }
+        return headers;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private CachedEmployee fetchOne(Long employeeId, HttpHeaders headers) {
+        return singleFetchTimer.record(() -> {
+            try {
+                EmployeeSummaryDTO employee = restTemplate.exchange(
+                        properties.getBaseUrl() + "/" + employeeId,
+                        HttpMethod.GET,
+                        new HttpEntity<>(headers),
+                        EmployeeSummaryDTO.class
+                ).getBody();
+                return employee != null ? new CachedEmployee(employee) : null;
+            } catch (HttpClientErrorException.NotFound e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Starts the call and, if it has not finished after the hedge delay and the budget allows, a second one.
+     * The first successful answer completes the lookup; it only fails if every call sent failed.
+     */
+    private CompletableFuture<CachedEmployee> fetchOneHedged(Long employeeId, HttpHeaders headers, Executor pool) {
+        if (!hedging.isEnabled()) {
+            return CompletableFuture.supplyAsync(() -> fetchOne(employeeId, headers), pool);
+        }
+        hedgeBudget.deposit();
+
+        HedgedCall call = new HedgedCall();
+        CompletableFuture.supplyAsync(() -> fetchOne(employeeId, headers), pool)
+                .whenComplete((employee, error) -> call.complete(employee, error, false));
+
+        CompletableFuture.delayedExecutor(hedgeDelayNanos(), TimeUnit.NANOSECONDS, pool).execute(() -> {
+            if (call.result.isDone()) {
+                return;
+            }
+            if (!hedgeBudget.tryWithdraw()) {
+                hedgesDenied.increment();
+                return;
+            }
+            hedgesSent.increment();
+            call.pending.incrementAndGet();
+            // the balancer sees the first call still in flight, so this one normally goes to another instance
+            try {
+                call.complete(fetchOne(employeeId, headers), null, true);
+            } catch (Exception e) {
+                call.complete(null, e, true);
+            }
+        });
+        return call.result;
+    }
+
+    /**
+     * The configured percentile of recent single lookups, recomputed at most once a second.
+     */
+    private long hedgeDelayNanos() {
+        long now = System.nanoTime();
+        if (now - hedgeDelayComputedAt < TimeUnit.SECONDS.toNanos(1)) {
+            return hedgeDelayNanos;
+        }
+        hedgeDelayComputedAt = now;
+
+        HistogramSnapshot snapshot = singleFetchTimer.takeSnapshot();
+        if (snapshot.count() < hedging.getMinSamples()) {
+            return hedgeDelayNanos;
+        }
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            if (percentile.percentile() == hedging.getPercentile()) {
+                long observed = (long) percentile.value(TimeUnit.NANOSECONDS);
+                hedgeDelayNanos = Math.max(hedging.getMinDelay().toNanos(),
+                        Math.min(observed, hedging.getMaxDelay().toNanos()));
+            }
+        }
+        return hedgeDelayNanos;
+    }
+
+    /**
+     * Stale-while-revalidate: the caller keeps the cached value, one background reload per id replaces it.
+     */
+    private void refreshIfStale(Long employeeId, CachedEmployee cached, HttpHeaders headers) {
+        if (System.nanoTime() - cached.getLoadedAt() < refreshAfterNanos || !refreshing.add(employeeId)) {
+            return;
+        }
+        staleServed.increment();
+        try {
+            executor.execute(() -> {
+                try {
+                    CachedEmployee fresh = fetchOne(employeeId, headers);
+                    if (fresh != null) {
+                        cache.put(employeeId, CompletableFuture.completedFuture(fresh));
+                    } else {
+                        cache.synchronous().invalidate(employeeId);
+                    }
+                } catch (Exception e) {
+                    log.warn("Background refresh of employee {} failed: {}", employeeId, e.getMessage());
+                } finally {
+                    refreshing.remove(employeeId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(employeeId);
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future) throws ExecutionException, TimeoutException {
+        try {
+            return future.get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, EmployeeSummaryDTO> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<Long, EmployeeSummaryDTO> memo =
+                (Map<Long, EmployeeSummaryDTO>) attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    private static ThreadPoolExecutor newExecutor(EmployeeDirectoryProperties properties) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                properties.getMaxConcurrency(),
+                properties.getMaxConcurrency(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "employee-directory-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    private static Counter hedgeCounter(MeterRegistry meterRegistry, Tags tags, String result, String description) {
+        return Counter.builder(METRIC_PREFIX + ".hedge")
+                .description(description)
+                .tags(tags).tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * One lookup with up to two calls in flight.
+     */
+    private final class HedgedCall {
+        private final CompletableFuture<CachedEmployee> result = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        void complete(CachedEmployee employee, Throwable error, boolean hedge) {
+            if (error == null) {
+                if (result.complete(employee) && hedge) {
+                    hedgesWon.increment();
+                }
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+
+    /**
+     * Every lookup earns {@code budgetPercent / 100} of a hedge, up to {@code maxBurst} hedges; each hedge spends one.
+     * Balances are kept in thousandths of a hedge.
+     */
+    private static final class HedgeBudget {
+        private static final long COST = 1000;
+
+        private final long earned;
+        private final long capacity;
+        private final AtomicLong balance = new AtomicLong();
+
+        HedgeBudget(double budgetPercent, int maxBurst) {
+            this.earned = Math.round(budgetPercent * COST / 100);
+            this.capacity = maxBurst * COST;
+        }
+
+        void deposit() {
+            balance.getAndUpdate(current -> Math.min(capacity, current + earned));
+        }
+
+        boolean tryWithdraw() {
+            while (true) {
+                long current = balance.get();
+                if (current < COST) {
+                    return false;
+                }
+                if (balance.compareAndSet(current, current - COST)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private static class CachedEmployee {
+        private final EmployeeSummaryDTO employee;
+        private final long loadedAt = System.nanoTime();
+
+        CachedEmployee(EmployeeSummaryDTO employee) {
+            this.employee = employee;
+        }
+
+        EmployeeSummaryDTO getEmployee() {
+            return employee;
+        }
+
+        long getLoadedAt() {
+            return loadedAt;
+        }
+    }
+}
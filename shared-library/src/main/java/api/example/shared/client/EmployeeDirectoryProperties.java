@@ -0,0 +1,64 @@
+package api.example.shared.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "employee-directory")
+public class EmployeeDirectoryProperties {
+
+    private boolean enabled = true;
+    private String baseUrl = "http://employee-service/api/employees";
+    private Duration timeout = Duration.ofSeconds(5);
+    private int maxConcurrency = 16;
+    private int queueCapacity = 1000;
+    private List<String> forwardedHeaders = List.of("Authorization", "X-Authenticated-Identity");
+
+    private Cache cache = new Cache();
+    private Hedging hedging = new Hedging();
+    private Enrichment enrichment = new Enrichment();
+
+    @Data
+    public static class Cache {
+        private long maxSize = 10_000;
+        /** Entries older than this are still served but reloaded in the background. */
+        private Duration refreshAfter = Duration.ofMinutes(1);
+        /** Entries older than this are never served. */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    /**
+     * Single-employee lookups only: if the first call has not answered after the observed latency percentile,
+     * a second call is sent and whichever answers first is used.
+     */
+    @Data
+    public static class Hedging {
+        private boolean enabled = false;
+        private double percentile = 0.95;
+        /** Used until {@link #minSamples} calls have been timed. */
+        private Duration initialDelay = Duration.ofMillis(50);
+        private long minSamples = 100;
+        private Duration minDelay = Duration.ofMillis(5);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        /** Hedges may add at most this many percent of extra calls. */
+        private double budgetPercent = 5;
+        /** Unused budget saved up, in hedges. */
+        private int maxBurst = 10;
+    }
+
+    /**
+     * The WebClient path used by {@link EmployeeEnricher} for list endpoints.
+     */
+    @Data
+    public static class Enrichment {
+        /** Ids per batch call. */
+        private int chunkSize = 200;
+        /** Batch calls in flight at once for one list. */
+        private int concurrency = 4;
+        /** A batch call slower than this is dropped and its rows are returned without employee details. */
+        private Duration callTimeout = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,141 @@
+package api.example.shared.client;
+
+import api.example.shared.dto.EmployeeSummaryDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Adds employee details to a list of rows without a blocking call per row.
+ * Ids answered by the {@link EmployeeDirectoryClient} near cache are used as they are; the rest are split
+ * into chunks and fetched from employee-service's batch endpoint over WebClient, at most {@code concurrency}
+ * chunks at a time, each with its own timeout. Results are joined back to the rows in their original order.
+ * A chunk that fails or times out leaves its rows without employee details.
+ * <p>
+ * Servlet code calls {@link #enrichBlocking}; only the calling thread waits, the service stays on Spring MVC.
+ */
+@Slf4j
+public class EmployeeEnricher {
+
+    private static final String METRIC_PREFIX = "employee.enrichment";
+    private static final ParameterizedTypeReference<List<EmployeeSummaryDTO>> EMPLOYEES = new ParameterizedTypeReference<>() {
+    };
+
+    private final WebClient webClient;
+    private final EmployeeDirectoryClient directory;
+    private final EmployeeDirectoryProperties properties;
+    private final Timer chunkTimer;
+    private final Counter failedChunks;
+
+    public EmployeeEnricher(WebClient webClient, EmployeeDirectoryClient directory, EmployeeDirectoryProperties properties,
+                            MeterRegistry meterRegistry, String applicationName) {
+        this.webClient = webClient;
+        this.directory = directory;
+        this.properties = properties;
+
+        Tags tags = Tags.of("application", applicationName);
+        this.chunkTimer = Timer.builder(METRIC_PREFIX + ".fetch")
+                .description("Latency of batch calls made to enrich list responses")
+                .tags(tags)
+                .register(meterRegistry);
+        this.failedChunks = Counter.builder(METRIC_PREFIX + ".failed")
+                .description("Batch calls that failed or timed out; their rows were returned without employee details")
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Call on the request thread, where the caller's credentials are read; the Mono can be subscribed to anywhere.
+     *
+     * @param employeeIdOf the employee id of a row, may return {@code null}
+     * @param join         builds the result for a row; the employee is {@code null} if it could not be found
+     */
+    public <T, R> Mono<List<R>> enrich(List<T> rows, Function<? super T, Long> employeeIdOf,
+                                       BiFunction<? super T, EmployeeSummaryDTO, R> join) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (T row : rows) {
+            Long id = employeeIdOf.apply(row);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        Map<Long, EmployeeSummaryDTO> cached = directory.getCachedEmployees(ids);
+        List<Long> missing = new ArrayList<>(ids.size() - cached.size());
+        for (Long id : ids) {
+            if (!cached.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        HttpHeaders headers = directory.forwardedHeaders();
+
+        return Flux.fromIterable(chunks(missing))
+                .flatMap(chunk -> fetch(chunk, headers), properties.getEnrichment().getConcurrency())
+                .collect(() -> new HashMap<Long, EmployeeSummaryDTO>(cached),
+                        (employees, chunk) -> chunk.forEach(employee -> employees.put(employee.getId(), employee)))
+                .map(employees -> {
+                    List<R> results = new ArrayList<>(rows.size());
+                    for (T row : rows) {
+                        Long id = employeeIdOf.apply(row);
+                        results.add(join.apply(row, id != null ? employees.get(id) : null));
+                    }
+                    return results;
+                });
+    }
+
+    /**
+     * {@link #enrich} for servlet code. Waits at most about one call timeout per {@code concurrency} chunks.
+     */
+    public <T, R> List<R> enrichBlocking(List<T> rows, Function<? super T, Long> employeeIdOf,
+                                         BiFunction<? super T, EmployeeSummaryDTO, R> join) {
+        return enrich(rows, employeeIdOf, join).block();
+    }
+
+    /**
+     * Never fails: errors and timeouts are logged and yield no employees.
+     */
+    private Mono<List<EmployeeSummaryDTO>> fetch(List<Long> ids, HttpHeaders headers) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return webClient.post()
+                    .uri(properties.getBaseUrl() + "/batch")
+                    .headers(h -> h.addAll(headers))
+                    .bodyValue(ids)
+                    .retrieve()
+                    .bodyToMono(EMPLOYEES)
+                    .timeout(properties.getEnrichment().getCallTimeout())
+                    .doOnNext(directory::cacheEmployees)
+                    .onErrorResume(e -> {
+                        failedChunks.increment();
+                        log.error("Failed to fetch {} employees: {}", ids.size(), e.getMessage());
+                        return Mono.empty();
+                    })
+                    .defaultIfEmpty(List.of())
+                    .doFinally(signal -> sample.stop(chunkTimer));
+        });
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        int chunkSize = properties.getEnrichment().getChunkSize();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,37 @@
+package api.example.shared.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection pool and timeouts of the HTTP client behind the services' {@code @LoadBalanced} RestTemplate.
+ */
+@Data
+@ConfigurationProperties(prefix = "http-client")
+public class HttpClientProperties {
+
+    private boolean enabled = true;
+    private int maxTotal = 200;
+    /** Connections per target instance (host and port). */
+    private int maxPerRoute = 50;
+    /** Overrides of {@link #maxPerRoute}, keyed by {@code host:port}. */
+    private Map<String, Integer> routes = new HashMap<>();
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /** How long to wait for a free pooled connection. */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    /** Used when the server does not send a Keep-Alive header. */
+    private Duration keepAlive = Duration.ofSeconds(30);
+    /** Connections idle for longer than this are closed by a background thread. */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    /** Connections are never reused after this long, so new instances behind a host get traffic. */
+    private Duration timeToLive = Duration.ofMinutes(5);
+    /** Pooled connections idle for longer than this are checked before reuse. */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -0,0 +1,24 @@
+package api.example.shared.config;
+
+import api.example.shared.exception.ApiExceptionHandler;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mapping.PropertyReferenceException;
+
+/**
+ * Answers bad paging and sorting parameters with 400 instead of 500 in every servlet service.
+ */
+@AutoConfiguration
+@ConditionalOnClass(PropertyReferenceException.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ApiExceptionHandlerAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ApiExceptionHandler apiExceptionHandler() {
+        return new ApiExceptionHandler();
+    }
+}
@@ -0,0 +1,36 @@
+package api.example.shared.config;
+
+import api.example.shared.client.EmployeeDirectoryClient;
+import api.example.shared.client.EmployeeDirectoryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.client.RestTemplate;
+
+@AutoConfiguration
+@ConditionalOnClass(RestTemplate.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "employee-directory", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(EmployeeDirectoryProperties.class)
+public class EmployeeDirectoryAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(RestTemplate.class)
+    public EmployeeDirectoryClient employeeDirectoryClient(RestTemplate restTemplate,
+                                                           EmployeeDirectoryProperties properties,
+                                                           ObjectProvider<MeterRegistry> meterRegistry,
+                                                           @Value("${spring.application.name:application}") String applicationName) {
+        return new EmployeeDirectoryClient(restTemplate, properties,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), applicationName);
+    }
+}
@@ -0,0 +1,40 @@
+package api.example.shared.config;
+
+import api.example.shared.client.EmployeeDirectoryClient;
+import api.example.shared.client.EmployeeDirectoryProperties;
+import api.example.shared.client.EmployeeEnricher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Services that have WebClient on the classpath get an {@link EmployeeEnricher} next to their
+ * {@link EmployeeDirectoryClient}. Its WebClient resolves service names through the load balancer.
+ */
+@AutoConfiguration(after = EmployeeDirectoryAutoConfiguration.class)
+@ConditionalOnClass(WebClient.class)
+@ConditionalOnBean(EmployeeDirectoryClient.class)
+public class EmployeeEnricherAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EmployeeEnricher employeeEnricher(ObjectProvider<WebClient.Builder> webClientBuilder,
+                                             ObjectProvider<ReactorLoadBalancerExchangeFilterFunction> loadBalancer,
+                                             EmployeeDirectoryClient employeeDirectoryClient,
+                                             EmployeeDirectoryProperties properties,
+                                             ObjectProvider<MeterRegistry> meterRegistry,
+                                             @Value("${spring.application.name:application}") String applicationName) {
+        WebClient.Builder builder = webClientBuilder.getIfAvailable(WebClient::builder);
+        loadBalancer.ifAvailable(builder::filter);
+        return new EmployeeEnricher(builder.build(), employeeDirectoryClient, properties,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), applicationName);
+    }
+}
@@ -0,0 +1,178 @@
+package api.example.shared.config;
+
+import api.example.shared.dto.JwkSet;
+import api.example.shared.dto.RevocationsResponse;
+import api.example.shared.security.IdentityAssertion;
+import api.example.shared.security.JwtProperties;
+import api.example.shared.security.JwksKeyResolver;
+import api.example.shared.security.JwksSource;
+import api.example.shared.security.JwtVerifier;
+import api.example.shared.security.RevocationList;
+import api.example.shared.security.RevocationListSyncer;
+import api.example.shared.security.RevocationSource;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionMessage;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+
+@AutoConfiguration
+@ConditionalOnClass(Jwts.class)
+@Conditional(JwtVerifierAutoConfiguration.VerificationKeyCondition.class)
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtVerifierAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtVerifier jwtVerifier(JwtProperties properties,
+                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                   ObjectProvider<IdentityAssertion> identityAssertion,
+                                   ObjectProvider<RevocationList> revocationList,
+                                   ObjectProvider<JwksKeyResolver> keyResolver,
+                                   @Value("${spring.application.name:application}") String applicationName) {
+        IdentityAssertion trustedAssertion = null;
+        if (properties.getGateway().isTrustIdentityHeader()) {
+            trustedAssertion = identityAssertion.getIfAvailable();
+            if (trustedAssertion == null) {
+                throw new IllegalStateException(
+                        "jwt.gateway.trust-identity-header is enabled but jwt.gateway.identity-secret is not set");
+            }
+        }
+        return new JwtVerifier(properties,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                applicationName,
+                trustedAssertion,
+                revocationList.getIfAvailable(),
+                keyResolver.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "jwt.jwks", name = "enabled", matchIfMissing = true)
+    public JwksKeyResolver jwksKeyResolver(JwtProperties properties,
+                                           ObjectProvider<JwksSource> jwksSource,
+                                           ObjectProvider<MeterRegistry> meterRegistry,
+                                           @Value("${spring.application.name:application}") String applicationName) {
+        Key legacyKey = StringUtils.hasText(properties.getSecret())
+                ? Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8))
+                : null;
+        return new JwksKeyResolver(jwksSource, legacyKey, properties.getLegacyAcceptUntil(),
+                properties.getJwks().getRefreshInterval(),
+                properties.getJwks().getMinRefreshInterval(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                applicationName);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @Conditional(IdentitySecretCondition.class)
+    public IdentityAssertion identityAssertion(JwtProperties properties) {
+        return new IdentityAssertion(properties.getGateway().getIdentitySecret());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "jwt.revocation", name = "enabled", matchIfMissing = true)
+    public RevocationList revocationList(JwtProperties properties) {
+        return new RevocationList(properties.getRevocation().getExpectedInsertions(),
+                properties.getRevocation().getFalsePositiveRate());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "jwt.revocation", name = "enabled", matchIfMissing = true)
+    public RevocationListSyncer revocationListSyncer(RevocationList revocationList,
+                                                     ObjectProvider<RevocationSource> revocationSource,
+                                                     JwtProperties properties,
+                                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                                     @Value("${spring.application.name:application}") String applicationName) {
+        return new RevocationListSyncer(revocationList, revocationSource,
+                properties.getRevocation().getPollInterval(),
+                properties.getRevocation().getOverlap(),
+                properties.getRevocation().getFullResyncInterval(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                applicationName);
+    }
+
+    /**
+     * Servlet services read the denylist and the signing keys from auth-service through their load-balanced RestTemplate.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(RestTemplate.class)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class RestTemplateSourceConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(RevocationSource.class)
+        @ConditionalOnBean(RestTemplate.class)
+        @ConditionalOnProperty(prefix = "jwt.revocation", name = "enabled", matchIfMissing = true)
+        public RevocationSource restTemplateRevocationSource(RestTemplate restTemplate, JwtProperties properties) {
+            String url = properties.getRevocation().getUrl() + "?since={since}";
+            return since -> restTemplate.getForObject(url, RevocationsResponse.class, since);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(JwksSource.class)
+        @ConditionalOnBean(RestTemplate.class)
+        @ConditionalOnProperty(prefix = "jwt.jwks", name = "enabled", matchIfMissing = true)
+        public JwksSource restTemplateJwksSource(RestTemplate restTemplate, JwtProperties properties) {
+            String url = properties.getJwks().getUrl();
+            return () -> restTemplate.getForObject(url, JwkSet.class);
+        }
+    }
+
+    /**
+     * Tokens are verified with the shared HS256 secret, with the published key set, or both.
+     */
+    static class VerificationKeyCondition extends AnyNestedCondition {
+
+        VerificationKeyCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(prefix = "jwt", name = "secret")
+        static class OnSecret {
+        }
+
+        @ConditionalOnProperty(prefix = "jwt.jwks", name = "enabled", matchIfMissing = true)
+        static class OnKeySet {
+        }
+    }
+
+    /**
+     * The identity secret is set to something other than blank; the configs leave it empty unless the
+     * deployment provides one.
+     */
+    static class IdentitySecretCondition extends SpringBootCondition {
+
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            ConditionMessage.Builder message = ConditionMessage.forCondition("Gateway identity secret");
+            return StringUtils.hasText(context.getEnvironment().getProperty("jwt.gateway.identity-secret"))
+                    ? ConditionOutcome.match(message.available("jwt.gateway.identity-secret"))
+                    : ConditionOutcome.noMatch(message.didNotFind("jwt.gateway.identity-secret").atAll());
+        }
+    }
+}
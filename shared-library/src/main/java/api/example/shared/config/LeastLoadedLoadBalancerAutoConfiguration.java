@@ -0,0 +1,24 @@
+package api.example.shared.config;
+
+import api.example.shared.loadbalancer.LeastLoadedLoadBalancerConfiguration;
+import api.example.shared.loadbalancer.LeastLoadedLoadBalancerProperties;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+
+/**
+ * Replaces round-robin with {@link api.example.shared.loadbalancer.LeastLoadedLoadBalancer} for every
+ * {@code @LoadBalanced} client of the servlet services.
+ */
+@AutoConfiguration
+@ConditionalOnClass(ReactorServiceInstanceLoadBalancer.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "loadbalancer.least-loaded", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(LeastLoadedLoadBalancerProperties.class)
+@LoadBalancerClients(defaultConfiguration = LeastLoadedLoadBalancerConfiguration.class)
+public class LeastLoadedLoadBalancerAutoConfiguration {
+}
@@ -0,0 +1,37 @@
+package api.example.shared.config;
+
+import api.example.shared.threads.VirtualThreadDiagnostics;
+import api.example.shared.threads.VirtualThreadDiagnosticsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "virtual-threads.diagnostics", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(VirtualThreadDiagnosticsProperties.class)
+public class VirtualThreadDiagnosticsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public VirtualThreadDiagnostics virtualThreadDiagnostics(Environment environment,
+                                                             VirtualThreadDiagnosticsProperties properties,
+                                                             ObjectProvider<DataSource> dataSources,
+                                                             ObjectProvider<MeterRegistry> meterRegistry,
+                                                             @Value("${spring.application.name:application}") String applicationName) {
+        // Threading.VIRTUAL.isActive() is false below Java 21; the report wants to know it was asked for
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        return new VirtualThreadDiagnostics(requested, properties, dataSources,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), applicationName);
+    }
+}
@@ -5,6 +5,7 @@ public class AppConstants {
     public static final String DEFAULT_PAGE_SIZE = "10";
     public static final String DEFAULT_SORT_BY = "id";
     public static final String DEFAULT_SORT_DIRECTION = "asc";
+    public static final int MAX_PAGE_SIZE = 100;
 
     private AppConstants() {
         // Private constructor to prevent instantiation
@@ -1,17 +1,20 @@
-package api.example.leaveservice.dto;
+package api.example.shared.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * The subset of employee-service's EmployeeDTO that other services display alongside their own records.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class EmployeeDTO {
+public class EmployeeSummaryDTO {
     private Long id;
     private String employeeId;
     private String firstName;
     private String lastName;
     private String email;
     private String designation;
-}
\ No newline at end of file
+}
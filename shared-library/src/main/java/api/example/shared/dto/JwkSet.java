@@ -0,0 +1,32 @@
+package api.example.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The public signing keys published by auth-service, in RFC 7517 JSON Web Key Set form.
+ * Only EC P-256 keys are produced.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwkSet {
+    private List<Jwk> keys;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Jwk {
+        private String kty;
+        private String crv;
+        private String kid;
+        private String use;
+        private String alg;
+        /** Base64url, unpadded, big-endian affine coordinates. */
+        private String x;
+        private String y;
+    }
+}
@@ -0,0 +1,45 @@
+package api.example.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Envelope for paged list endpoints.
+ * Offset pages fill in the page counters; keyset pages leave them null and
+ * return {@code nextAfterId}, which the client passes back as {@code afterId}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> content;
+    private Integer page;
+    private int size;
+    private Long totalElements;
+    private Integer totalPages;
+    private boolean last;
+    private Long nextAfterId;
+
+    public static <T> PageResponse<T> of(Page<?> page, List<T> content) {
+        return new PageResponse<>(content, page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages(), page.isLast(), null);
+    }
+
+    /**
+     * @param rows  up to {@code size + 1} rows ordered by id; the extra row only signals that more exist
+     * @param idOf  extracts the keyset column from a row
+     * @param toDTO maps the rows that are returned
+     */
+    public static <E, T> PageResponse<T> keyset(List<E> rows, int size,
+                                                 Function<E, Long> idOf, Function<List<E>, List<T>> toDTO) {
+        boolean last = rows.size() <= size;
+        List<E> pageRows = last ? rows : rows.subList(0, size);
+        Long nextAfterId = last || pageRows.isEmpty() ? null : idOf.apply(pageRows.get(pageRows.size() - 1));
+        return new PageResponse<>(toDTO.apply(pageRows), null, size, null, null, last, nextAfterId);
+    }
+}
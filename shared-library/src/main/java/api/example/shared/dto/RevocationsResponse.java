@@ -0,0 +1,29 @@
+package api.example.shared.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One page of the access-token denylist published by auth-service.
+ * Clients pass {@code cursor} back as {@code since} to receive only newer revocations.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevocationsResponse {
+    private List<Entry> revoked;
+    private long cursor;
+    private boolean hasMore;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private String jti;
+        private Instant expiresAt;
+    }
+}
@@ -0,0 +1,262 @@
+package api.example.shared.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Power-of-two-choices load balancer: picks two random instances and sends the call to the one with the lower
+ * cost, where cost is the instance's recent latency (an exponentially weighted moving average) times its calls
+ * in flight plus one. A slow or busy replica therefore gets less traffic, while random sampling keeps every
+ * caller from piling onto the same "best" instance.
+ * <p>
+ * An instance that fails {@code consecutive-failures} calls in a row (I/O errors or 5xx) is ejected for a while,
+ * longer each time it is ejected again without a success in between. At most {@code max-percent} of the
+ * instances are ejected at once; if all known instances are ejected, all are used.
+ * <p>
+ * It is also the {@link LoadBalancerLifecycle} that records each call's outcome, which Spring Cloud LoadBalancer
+ * finds because both live in the same per-service context.
+ */
+@Slf4j
+public class LeastLoadedLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private static final String METRIC_PREFIX = "loadbalancer";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final LeastLoadedLoadBalancerProperties properties;
+    private final double decayNanos;
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    private volatile int instanceCount;
+    private final Counter ejections;
+
+    public LeastLoadedLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider, String serviceId,
+                                   LeastLoadedLoadBalancerProperties properties, MeterRegistry meterRegistry) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.properties = properties;
+        this.decayNanos = properties.getDecayTime().toNanos();
+        this.ejections = Counter.builder(METRIC_PREFIX + ".ejections")
+                .description("Instances taken out of rotation after repeated failures")
+                .tag("service", serviceId)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".ejected", this, balancer -> balancer.ejectedCount(System.nanoTime()))
+                .description("Instances currently out of rotation")
+                .tag("service", serviceId)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        instanceCount = instances.size();
+        if (stats.size() > instances.size()) {
+            forgetMissing(instances);
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        long now = System.nanoTime();
+        List<ServiceInstance> candidates = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            InstanceStats instanceStats = stats.get(key(instance));
+            if (instanceStats == null || !instanceStats.isEjected(now)) {
+                candidates.add(instance);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = instances;
+        }
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return new DefaultResponse(cost(a, now) <= cost(b, now) ? a : b);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext context) {
+            context.setRequestStartTime(System.nanoTime());
+        }
+        stats(lbResponse.getServer()).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()
+                || completionContext.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+        long now = System.nanoTime();
+        ServiceInstance instance = lbResponse.getServer();
+        InstanceStats instanceStats = stats(instance);
+        instanceStats.inFlight.decrementAndGet();
+
+        Request<Object> request = completionContext.getLoadBalancerRequest();
+        if (request != null && request.getContext() instanceof TimedRequestContext context
+                && context.getRequestStartTime() > 0) {
+            instanceStats.recordLatency(now - context.getRequestStartTime(), now, decayNanos);
+        }
+
+        if (isFailure(completionContext)) {
+            onFailure(instance, instanceStats, now);
+        } else {
+            instanceStats.consecutiveFailures.set(0);
+            instanceStats.ejections = 0;
+        }
+    }
+
+    private void onFailure(ServiceInstance instance, InstanceStats instanceStats, long now) {
+        LeastLoadedLoadBalancerProperties.Ejection ejection = properties.getEjection();
+        if (instanceStats.consecutiveFailures.incrementAndGet() < ejection.getConsecutiveFailures()
+                || instanceStats.isEjected(now)) {
+            return;
+        }
+        synchronized (this) {
+            int allowed = instanceCount * ejection.getMaxPercent() / 100;
+            if (instanceStats.isEjected(now) || ejectedCount(now) >= allowed) {
+                return;
+            }
+            int times = ++instanceStats.ejections;
+            long duration = Math.min(ejection.getBaseTime().toNanos() * times, ejection.getMaxTime().toNanos());
+            instanceStats.ejectedUntil = now + duration;
+            instanceStats.ejected = true;
+            instanceStats.consecutiveFailures.set(0);
+            ejections.increment();
+            log.warn("Ejected {} instance {}:{} for {} ms after {} failures in a row", serviceId,
+                    instance.getHost(), instance.getPort(), duration / 1_000_000, ejection.getConsecutiveFailures());
+        }
+    }
+
+    private static boolean isFailure(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        return completionContext.getClientResponse() instanceof ResponseData response
+                && response.getHttpStatus() != null
+                && response.getHttpStatus().is5xxServerError();
+    }
+
+    private double cost(ServiceInstance instance, long now) {
+        InstanceStats instanceStats = stats.get(key(instance));
+        if (instanceStats == null) {
+            return 0;
+        }
+        return instanceStats.latency(now, decayNanos) * (instanceStats.inFlight.get() + 1);
+    }
+
+    private int ejectedCount(long now) {
+        int ejected = 0;
+        for (InstanceStats instanceStats : stats.values()) {
+            if (instanceStats.isEjected(now)) {
+                ejected++;
+            }
+        }
+        return ejected;
+    }
+
+    private void forgetMissing(List<ServiceInstance> instances) {
+        Set<String> keys = new HashSet<>();
+        for (ServiceInstance instance : instances) {
+            keys.add(key(instance));
+        }
+        stats.keySet().retainAll(keys);
+    }
+
+    private InstanceStats stats(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), key -> new InstanceStats());
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getInstanceId() != null ? instance.getInstanceId() : instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static final class InstanceStats {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile boolean ejected;
+        private volatile long ejectedUntil;
+        /** Ejections since the last success; only incremented while holding the balancer's lock. */
+        private volatile int ejections;
+
+        private boolean sampled;
+        private double ewmaNanos;
+        private long sampledAt;
+
+        synchronized void recordLatency(long latencyNanos, long now, double decayNanos) {
+            if (!sampled) {
+                ewmaNanos = latencyNanos;
+                sampled = true;
+            } else {
+                double weight = Math.exp(-(now - sampledAt) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+            }
+            sampledAt = now;
+        }
+
+        /**
+         * Decays towards zero while the instance gets no calls, so a replica that was slow once is tried again.
+         */
+        synchronized double latency(long now, double decayNanos) {
+            if (!sampled) {
+                return 0;
+            }
+            return ewmaNanos * Math.exp(-(now - sampledAt) / decayNanos);
+        }
+
+        boolean isEjected(long now) {
+            return ejected && ejectedUntil - now > 0;
+        }
+    }
+}
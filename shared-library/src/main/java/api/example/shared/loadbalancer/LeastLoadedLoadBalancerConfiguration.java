@@ -0,0 +1,32 @@
+package api.example.shared.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load balancer configuration, registered for every client by
+ * {@link api.example.shared.config.LeastLoadedLoadBalancerAutoConfiguration}. Deliberately not a
+ * {@code @Configuration}: it must only be loaded into the per-service child contexts.
+ */
+public class LeastLoadedLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> leastLoadedLoadBalancer(Environment environment,
+                                                                        LoadBalancerClientFactory clientFactory,
+                                                                        LeastLoadedLoadBalancerProperties properties,
+                                                                        ObjectProvider<MeterRegistry> meterRegistry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LeastLoadedLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId,
+                properties,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+}
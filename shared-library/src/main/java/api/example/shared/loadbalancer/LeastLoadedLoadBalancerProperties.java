@@ -0,0 +1,28 @@
+package api.example.shared.loadbalancer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "loadbalancer.least-loaded")
+public class LeastLoadedLoadBalancerProperties {
+
+    private boolean enabled = true;
+    /** How quickly old latency samples stop counting; also how fast an idle instance's latency is forgotten. */
+    private Duration decayTime = Duration.ofSeconds(10);
+
+    private Ejection ejection = new Ejection();
+
+    @Data
+    public static class Ejection {
+        /** Failed calls (I/O errors or 5xx) in a row that take an instance out of rotation. */
+        private int consecutiveFailures = 5;
+        /** First ejection; each further ejection without a success in between lasts one base time longer. */
+        private Duration baseTime = Duration.ofSeconds(30);
+        private Duration maxTime = Duration.ofMinutes(5);
+        /** Never eject more than this share of a service's instances. */
+        private int maxPercent = 50;
+    }
+}
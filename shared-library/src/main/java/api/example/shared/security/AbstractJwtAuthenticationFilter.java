@@ -0,0 +1,90 @@
+package api.example.shared.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Base class for the per-service JwtAuthenticationFilter beans.
+ * Token verification is delegated to the shared {@link JwtVerifier}; subclasses
+ * only customise how the verified identity becomes an Authentication.
+ * When the verifier trusts the gateway, a valid signed identity header replaces
+ * the bearer token check; otherwise the bearer token is verified as usual.
+ */
+@Slf4j
+public abstract class AbstractJwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    protected final JwtVerifier jwtVerifier;
+
+    protected AbstractJwtAuthenticationFilter(JwtVerifier jwtVerifier) {
+        this.jwtVerifier = jwtVerifier;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        try {
+            VerifiedToken token = null;
+
+            if (jwtVerifier.trustsIdentityHeader()) {
+                token = jwtVerifier.verifyIdentity(request.getHeader(jwtVerifier.getIdentityHeader()));
+            }
+
+            if (token == null) {
+                String jwt = parseJwt(request);
+                if (jwt != null) {
+                    token = jwtVerifier.verify(jwt);
+                }
+            }
+
+            if (token != null) {
+                authenticate(token, request);
+            }
+        } catch (Exception e) {
+            log.error("Cannot set authentication: {}", e.getMessage());
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Populates the security context for a verified token.
+     */
+    protected void authenticate(VerifiedToken token, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                token.getEmail(), null, Collections.singletonList(new SimpleGrantedAuthority(token.getRole())));
+        authentication.setDetails(detailsSource.buildDetails(request));
+
+        request.setAttribute("userId", token.getUserId());
+        request.setAttribute("userEmail", token.getEmail());
+        request.setAttribute("userRole", token.getRole());
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        log.debug("Authenticated user: {}, role: {}", token.getEmail(), token.getRole());
+    }
+
+    protected String parseJwt(HttpServletRequest request) {
+        String headerAuth = request.getHeader("Authorization");
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
+            return headerAuth.substring(7);
+        }
+        return null;
+    }
+}
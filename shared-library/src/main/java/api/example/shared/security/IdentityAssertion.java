@@ -0,0 +1,101 @@
+package api.example.shared.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Compact, HMAC-signed identity header the api-gateway attaches after it has verified the JWT.
+ * Format: {@code base64url(userId|role|expiresAtEpochSeconds|email) + "." + base64url(HMAC-SHA256)}.
+ * Checking it is one HMAC over a few dozen bytes, far cheaper than parsing the JWS again.
+ * <p>
+ * Anyone holding the secret can assert any identity, so a secret shorter than 256 bits, or the placeholder
+ * once shipped as a default in the service configs, is refused.
+ */
+public class IdentityAssertion {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final String PUBLISHED_DEFAULT_SECRET = "your-gateway-identity-secret-at-least-256-bits";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+
+    public IdentityAssertion(String secret) {
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("jwt.gateway.identity-secret must be at least 256 bits");
+        }
+        if (secret.equals(PUBLISHED_DEFAULT_SECRET)) {
+            throw new IllegalArgumentException("jwt.gateway.identity-secret is still the published default");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String sign(VerifiedToken token) {
+        String payload = String.join("|",
+                token.getUserId() != null ? token.getUserId().toString() : "",
+                token.getRole() != null ? token.getRole() : "",
+                token.getExpiresAt() != null ? Long.toString(token.getExpiresAt().getEpochSecond()) : "",
+                token.getEmail());
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(hmac(payloadBytes));
+    }
+
+    /**
+     * @return the asserted identity, or {@code null} if the signature does not match or the token has expired
+     */
+    public VerifiedToken verify(String assertion) {
+        if (assertion == null) {
+            return null;
+        }
+        int dot = assertion.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+
+        try {
+            byte[] payload = DECODER.decode(assertion.substring(0, dot));
+            byte[] signature = DECODER.decode(assertion.substring(dot + 1));
+            if (!MessageDigest.isEqual(hmac(payload), signature)) {
+                return null;
+            }
+
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split("\\|", 4);
+            if (parts.length != 4) {
+                return null;
+            }
+
+            VerifiedToken token = new VerifiedToken(
+                    parts[3],
+                    parts[1].isEmpty() ? null : parts[1],
+                    parts[0].isEmpty() ? null : Long.valueOf(parts[0]),
+                    parts[2].isEmpty() ? null : Instant.ofEpochSecond(Long.parseLong(parts[2])),
+                    null
+            );
+            return token.isExpired() ? null : token;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] hmac(byte[] payload) {
+        return mac.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+}
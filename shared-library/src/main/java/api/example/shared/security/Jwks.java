@@ -0,0 +1,74 @@
+package api.example.shared.security;
+
+import api.example.shared.dto.JwkSet;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.util.Base64;
+
+/**
+ * Conversions between EC P-256 public keys and their JWK form.
+ */
+public final class Jwks {
+
+    public static final String ALGORITHM = "ES256";
+
+    private static final String CURVE = "P-256";
+    private static final int COORDINATE_BYTES = 32;
+    private static final ECParameterSpec P256 = p256();
+
+    private Jwks() {
+    }
+
+    public static JwkSet.Jwk toJwk(String kid, ECPublicKey key) {
+        ECPoint point = key.getW();
+        return new JwkSet.Jwk("EC", CURVE, kid, "sig", ALGORITHM,
+                encode(point.getAffineX()), encode(point.getAffineY()));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the JWK is not an EC P-256 key
+     */
+    public static ECPublicKey toPublicKey(JwkSet.Jwk jwk) {
+        if (!"EC".equals(jwk.getKty()) || !CURVE.equals(jwk.getCrv()) || jwk.getX() == null || jwk.getY() == null) {
+            throw new IllegalArgumentException("Unsupported JWK " + jwk.getKid() + ": " + jwk.getKty() + "/" + jwk.getCrv());
+        }
+        ECPoint point = new ECPoint(decode(jwk.getX()), decode(jwk.getY()));
+        try {
+            return (ECPublicKey) KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, P256));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid JWK " + jwk.getKid() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String encode(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray();
+        // drop the sign byte, or left-pad short values, to exactly 32 bytes
+        byte[] fixed = new byte[COORDINATE_BYTES];
+        int length = Math.min(bytes.length, COORDINATE_BYTES);
+        System.arraycopy(bytes, bytes.length - length, fixed, COORDINATE_BYTES - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static BigInteger decode(String coordinate) {
+        byte[] bytes = Base64.getUrlDecoder().decode(coordinate);
+        return new BigInteger(1, bytes);
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("EC P-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package api.example.shared.security;
+
+import api.example.shared.dto.JwkSet;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Picks the verification key by the token's {@code kid} from an in-memory copy of auth-service's key set.
+ * The copy is refreshed in the background; a token with an unknown {@code kid} is rejected and triggers
+ * an early refresh, at most once per {@code min-refresh-interval}, so verification never waits on the network.
+ * Tokens without a {@code kid} were signed with the shared HS256 secret and are checked against it when configured,
+ * until {@code jwt.legacy-accept-until}.
+ */
+@Slf4j
+public class JwksKeyResolver extends SigningKeyResolverAdapter implements AutoCloseable {
+
+    private final ObjectProvider<JwksSource> source;
+    private final Key legacyKey;
+    private final Instant legacyAcceptUntil;
+    private final long minRefreshNanos;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong lastRefresh = new AtomicLong(System.nanoTime() - TimeUnit.DAYS.toNanos(1));
+    private final Counter unknownKid;
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastSuccess;
+
+    /**
+     * @param legacyKey         HMAC key for tokens issued before asymmetric signing, or {@code null} to reject them
+     * @param legacyAcceptUntil when {@code legacyKey} stops being accepted, or {@code null} for as long as it is set
+     */
+    public JwksKeyResolver(ObjectProvider<JwksSource> source, Key legacyKey, Instant legacyAcceptUntil,
+                           Duration refreshInterval, Duration minRefreshInterval, MeterRegistry meterRegistry,
+                           String applicationName) {
+        this.source = source;
+        this.legacyKey = legacyKey;
+        this.legacyAcceptUntil = legacyAcceptUntil;
+        this.minRefreshNanos = minRefreshInterval.toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Tags tags = Tags.of("application", applicationName);
+        Gauge.builder("jwt.jwks.keys", this, r -> r.keys.size())
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("jwt.jwks.staleness", this, r -> r.lastSuccess == 0 ? Double.NaN
+                        : (System.nanoTime() - r.lastSuccess) / 1e9)
+                .description("Seconds since the key set was last fetched")
+                .tags(tags)
+                .register(meterRegistry);
+        this.unknownKid = Counter.builder("jwt.jwks.unknown.kid")
+                .description("Tokens signed with a key that was not in the local key set")
+                .tags(tags)
+                .register(meterRegistry);
+
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        return resolve(header.getKeyId());
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, String plaintext) {
+        return resolve(header.getKeyId());
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private Key resolve(String kid) {
+        if (kid == null) {
+            if (legacyKey == null || (legacyAcceptUntil != null && Instant.now().isAfter(legacyAcceptUntil))) {
+                throw new JwtException("Token has no key id");
+            }
+            return legacyKey;
+        }
+
+        PublicKey key = keys.get(kid);
+        if (key == null) {
+            unknownKid.increment();
+            requestRefresh();
+            throw new JwtException("Unknown signing key: " + kid);
+        }
+        return key;
+    }
+
+    private void requestRefresh() {
+        long last = lastRefresh.get();
+        long now = System.nanoTime();
+        if (now - last >= minRefreshNanos && lastRefresh.compareAndSet(last, now)) {
+            scheduler.execute(this::refresh);
+        }
+    }
+
+    private void refresh() {
+        try {
+            JwksSource jwksSource = source.getIfAvailable();
+            if (jwksSource == null) {
+                return;
+            }
+            lastRefresh.set(System.nanoTime());
+
+            JwkSet jwkSet = jwksSource.fetch();
+            if (jwkSet == null || jwkSet.getKeys() == null || jwkSet.getKeys().isEmpty()) {
+                // keep the keys we have rather than reject every token
+                log.warn("Signing key set is empty, keeping {} known keys", keys.size());
+                return;
+            }
+
+            Map<String, PublicKey> fetched = new HashMap<>();
+            for (JwkSet.Jwk jwk : jwkSet.getKeys()) {
+                try {
+                    fetched.put(jwk.getKid(), Jwks.toPublicKey(jwk));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Skipping signing key: {}", e.getMessage());
+                }
+            }
+            keys = Map.copyOf(fetched);
+            lastSuccess = System.nanoTime();
+        } catch (Exception e) {
+            log.warn("Signing key refresh failed: {}", e.getMessage());
+        }
+    }
+}
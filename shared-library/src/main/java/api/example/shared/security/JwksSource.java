@@ -0,0 +1,13 @@
+package api.example.shared.security;
+
+import api.example.shared.dto.JwkSet;
+
+/**
+ * Where {@link JwksKeyResolver} reads the signing keys from: auth-service's
+ * {@code /api/auth/jwks} endpoint for the other services, its own key table for auth-service.
+ */
+@FunctionalInterface
+public interface JwksSource {
+
+    JwkSet fetch();
+}
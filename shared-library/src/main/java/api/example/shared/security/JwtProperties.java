@@ -0,0 +1,68 @@
+package api.example.shared.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Data
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    /** HS256 secret; only needed to verify tokens issued before auth-service switched to ES256. */
+    private String secret;
+
+    /**
+     * Tokens without a key id are rejected from this instant on, even while {@code secret} is set. Set it to the
+     * switch to ES256 plus {@code refresh-expiration}, after which no legitimately issued legacy token is left.
+     */
+    private Instant legacyAcceptUntil;
+
+    private Cache cache = new Cache();
+
+    private Gateway gateway = new Gateway();
+
+    private Revocation revocation = new Revocation();
+
+    private KeySet jwks = new KeySet();
+
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private long maxSize = 10_000;
+    }
+
+    @Data
+    public static class Gateway {
+        private String identityHeader = "X-Authenticated-Identity";
+        private String identitySecret;
+        private boolean trustIdentityHeader = false;
+    }
+
+    @Data
+    public static class Revocation {
+        private boolean enabled = true;
+        private String url = "http://auth-service/api/auth/revocations";
+        private Duration pollInterval = Duration.ofSeconds(5);
+        /**
+         * Revocation ids re-read behind the cursor on every poll: ids are assigned before commit, so a slow
+         * transaction can commit an id lower than one already seen.
+         */
+        private long overlap = 1_000;
+        /** How often the whole live denylist is fetched again, for anything the overlap missed. */
+        private Duration fullResyncInterval = Duration.ofMinutes(30);
+        /** Bloom filter sizing; the filter grows on prune if more ids are live. */
+        private int expectedInsertions = 100_000;
+        private double falsePositiveRate = 0.01;
+    }
+
+    @Data
+    public static class KeySet {
+        private boolean enabled = true;
+        private String url = "http://auth-service/api/auth/jwks";
+        private Duration refreshInterval = Duration.ofMinutes(5);
+        /** Floor between the early refreshes triggered by tokens with an unknown key id. */
+        private Duration minRefreshInterval = Duration.ofSeconds(30);
+    }
+}
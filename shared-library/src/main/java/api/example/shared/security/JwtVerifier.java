@@ -0,0 +1,230 @@
+package api.example.shared.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies access tokens for the resource services.
+ * The signing key and parser are built once, each token is parsed a single time,
+ * and successful verifications are cached by SHA-256 digest until the token expires
+ * so repeated requests with the same token skip the signature check entirely.
+ */
+@Slf4j
+public class JwtVerifier {
+
+    private static final String METRIC_PREFIX = "jwt.verification";
+    private static final Duration MAX_CACHE_TTL = Duration.ofHours(1);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtParser parser;
+    private final Cache<ByteBuffer, VerifiedToken> cache;
+    private final Timer verificationTimer;
+    private final IdentityAssertion identityAssertion;
+    private final String identityHeader;
+    private final Counter identityAccepted;
+    private final Counter identityRejected;
+    private final RevocationList revocationList;
+    private final Counter revokedRejected;
+
+    public JwtVerifier(JwtProperties properties, MeterRegistry meterRegistry, String applicationName) {
+        this(properties, meterRegistry, applicationName, null);
+    }
+
+    /**
+     * @param identityAssertion when non-null, identity headers signed by the api-gateway are trusted
+     *                          in place of the bearer token
+     */
+    public JwtVerifier(JwtProperties properties, MeterRegistry meterRegistry, String applicationName,
+                       IdentityAssertion identityAssertion) {
+        this(properties, meterRegistry, applicationName, identityAssertion, null);
+    }
+
+    /**
+     * @param revocationList when non-null, tokens whose {@code jti} is on the list are rejected
+     */
+    public JwtVerifier(JwtProperties properties, MeterRegistry meterRegistry, String applicationName,
+                       IdentityAssertion identityAssertion, RevocationList revocationList) {
+        this(properties, meterRegistry, applicationName, identityAssertion, revocationList, null);
+    }
+
+    /**
+     * @param keyResolver when non-null, picks the verification key per token (see {@link JwksKeyResolver});
+     *                    otherwise every token is checked against the HS256 {@code jwt.secret}
+     */
+    public JwtVerifier(JwtProperties properties, MeterRegistry meterRegistry, String applicationName,
+                       IdentityAssertion identityAssertion, RevocationList revocationList,
+                       SigningKeyResolver keyResolver) {
+        if (keyResolver != null) {
+            this.parser = Jwts.parserBuilder().setSigningKeyResolver(keyResolver).build();
+        } else if (StringUtils.hasText(properties.getSecret())) {
+            this.parser = Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8)))
+                    .build();
+        } else {
+            throw new IllegalStateException("Either jwt.secret or a signing key resolver is required");
+        }
+
+        Tags tags = Tags.of("application", applicationName);
+        this.verificationTimer = Timer.builder(METRIC_PREFIX)
+                .description("Time spent parsing and checking the signature of JWTs not found in the cache")
+                .tags(tags)
+                .register(meterRegistry);
+
+        this.identityAssertion = identityAssertion;
+        this.identityHeader = properties.getGateway().getIdentityHeader();
+        this.identityAccepted = Counter.builder(METRIC_PREFIX + ".identity.header")
+                .tags(tags).tag("result", "accepted").register(meterRegistry);
+        this.identityRejected = Counter.builder(METRIC_PREFIX + ".identity.header")
+                .tags(tags).tag("result", "rejected").register(meterRegistry);
+
+        this.revocationList = revocationList;
+        this.revokedRejected = Counter.builder(METRIC_PREFIX + ".revoked")
+                .description("Validly signed tokens rejected because they were revoked")
+                .tags(tags)
+                .register(meterRegistry);
+
+        if (properties.getCache().isEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getCache().getMaxSize())
+                    .expireAfter(new TokenExpiry())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, METRIC_PREFIX, tags);
+            Gauge.builder(METRIC_PREFIX + ".cache.hit.ratio", cache, c -> c.stats().hitRate())
+                    .description("Share of token verifications answered from the cache")
+                    .tags(tags)
+                    .register(meterRegistry);
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * @return the verified identity, or {@code null} if the token is malformed, forged, expired or revoked
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified = verifySignature(token);
+        if (verified != null && revocationList != null && revocationList.isRevoked(verified.getTokenId())) {
+            revokedRejected.increment();
+            log.debug("Rejected revoked token {}", verified.getTokenId());
+            return null;
+        }
+        return verified;
+    }
+
+    private VerifiedToken verifySignature(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+        if (cache == null) {
+            return parse(token);
+        }
+
+        ByteBuffer key = digest(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        VerifiedToken verified = parse(token);
+        if (verified != null) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    public boolean trustsIdentityHeader() {
+        return identityAssertion != null;
+    }
+
+    public String getIdentityHeader() {
+        return identityHeader;
+    }
+
+    /**
+     * Fast path for requests that came through the api-gateway.
+     *
+     * @return the asserted identity, or {@code null} if trust is disabled or the assertion is invalid
+     */
+    public VerifiedToken verifyIdentity(String assertion) {
+        if (identityAssertion == null || assertion == null) {
+            return null;
+        }
+        VerifiedToken token = identityAssertion.verify(assertion);
+        (token != null ? identityAccepted : identityRejected).increment();
+        return token;
+    }
+
+    private VerifiedToken parse(String token) {
+        long start = System.nanoTime();
+        try {
+            return VerifiedToken.from(parser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("JWT validation error: {}", e.getMessage());
+            return null;
+        } finally {
+            verificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Evicts each entry when its token expires, capped so that tokens without an expiry do not live forever.
+     */
+    private static class TokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken value, long currentTime) {
+            if (value.getExpiresAt() == null) {
+                return MAX_CACHE_TTL.toNanos();
+            }
+            Duration remaining = Duration.between(Instant.now(), value.getExpiresAt());
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            return Math.min(remaining.toNanos(), MAX_CACHE_TTL.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
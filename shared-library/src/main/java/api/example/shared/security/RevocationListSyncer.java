@@ -0,0 +1,100 @@
+package api.example.shared.security;
+
+import api.example.shared.dto.RevocationsResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a {@link RevocationList} up to date by polling for revocations newer than the last cursor.
+ * Each poll starts {@code overlap} ids behind the cursor, and every {@code fullResyncInterval} from the start,
+ * because revocation ids can commit out of order; adding a revocation twice is harmless.
+ * The source is resolved on every poll, so it may be defined after this bean and
+ * a service without one simply never receives revocations.
+ */
+@Slf4j
+public class RevocationListSyncer implements AutoCloseable {
+
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(10);
+
+    private final RevocationList revocationList;
+    private final ObjectProvider<RevocationSource> source;
+    private final ScheduledExecutorService scheduler;
+    private final long overlap;
+    private final long fullResyncNanos;
+    private volatile long cursor;
+    private long lastPrune = System.nanoTime();
+    private long lastFullResync = System.nanoTime();
+    private volatile long lastSuccess;
+
+    public RevocationListSyncer(RevocationList revocationList, ObjectProvider<RevocationSource> source,
+                                Duration pollInterval, long overlap, Duration fullResyncInterval,
+                                MeterRegistry meterRegistry, String applicationName) {
+        this.revocationList = revocationList;
+        this.source = source;
+        this.overlap = overlap;
+        this.fullResyncNanos = fullResyncInterval.toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "revocation-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Tags tags = Tags.of("application", applicationName);
+        Gauge.builder("jwt.revocation.size", revocationList, RevocationList::size)
+                .tags(tags)
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.staleness", this, s -> s.lastSuccess == 0 ? Double.NaN
+                        : (System.nanoTime() - s.lastSuccess) / 1e9)
+                .description("Seconds since the last successful revocation sync")
+                .tags(tags)
+                .register(meterRegistry);
+
+        scheduler.scheduleWithFixedDelay(this::sync, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void sync() {
+        try {
+            RevocationSource revocationSource = source.getIfAvailable();
+            if (revocationSource == null) {
+                return;
+            }
+
+            boolean fullResync = System.nanoTime() - lastFullResync > fullResyncNanos;
+            long since = fullResync ? 0 : Math.max(0, cursor - overlap);
+            RevocationsResponse response;
+            do {
+                response = revocationSource.fetch(since);
+                if (response == null) {
+                    return;
+                }
+                response.getRevoked().forEach(entry -> revocationList.add(entry.getJti(), entry.getExpiresAt()));
+                since = response.getCursor();
+                cursor = Math.max(cursor, since);
+            } while (response.isHasMore());
+            lastSuccess = System.nanoTime();
+            if (fullResync) {
+                lastFullResync = lastSuccess;
+            }
+
+            if (System.nanoTime() - lastPrune > PRUNE_INTERVAL.toNanos()) {
+                revocationList.prune();
+                lastPrune = System.nanoTime();
+            }
+        } catch (Exception e) {
+            log.warn("Revocation sync failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package api.example.shared.security;
+
+import api.example.shared.dto.RevocationsResponse;
+
+/**
+ * Where {@link RevocationListSyncer} reads revocations from: auth-service's
+ * {@code /api/auth/revocations} endpoint for the other services, its own table for auth-service.
+ */
+@FunctionalInterface
+public interface RevocationSource {
+
+    RevocationsResponse fetch(long since);
+}
@@ -0,0 +1,37 @@
+package api.example.shared.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Identity extracted from a JWT whose signature has already been checked.
+ * Instances are immutable so they can be shared through the verification cache.
+ */
+@Getter
+@RequiredArgsConstructor
+public class VerifiedToken {
+
+    private final String email;
+    private final String role;
+    private final Long userId;
+    private final Instant expiresAt;
+    /** The {@code jti} claim; null for identities asserted by the gateway, which checks revocation itself. */
+    private final String tokenId;
+
+    public static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("userId", Long.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims.getId()
+        );
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+}
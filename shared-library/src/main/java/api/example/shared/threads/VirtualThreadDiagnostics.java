@@ -0,0 +1,135 @@
+package api.example.shared.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Startup report for the virtual-thread mode, plus a watch for pinned virtual threads while it runs.
+ * <p>
+ * A virtual thread that blocks inside a {@code synchronized} block or method, or in native code, pins its
+ * carrier thread, so enough of them stall the whole scheduler. The report names the JDBC drivers known to do
+ * that. Once the application is ready, JFR's {@code jdk.VirtualThreadPinned} events longer than
+ * {@code pinned-threshold} are counted as {@code jvm.threads.virtual.pinned}, and each distinct place that
+ * pinned is logged once with its stack.
+ */
+@Slf4j
+public class VirtualThreadDiagnostics implements ApplicationListener<ApplicationReadyEvent>, DisposableBean {
+
+    private static final int STACK_DEPTH = 8;
+
+    private final boolean virtualThreadsRequested;
+    private final VirtualThreadDiagnosticsProperties properties;
+    private final ObjectProvider<DataSource> dataSources;
+    private final Counter pinned;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream recording;
+
+    public VirtualThreadDiagnostics(boolean virtualThreadsRequested, VirtualThreadDiagnosticsProperties properties,
+                                    ObjectProvider<DataSource> dataSources, MeterRegistry meterRegistry,
+                                    String applicationName) {
+        this.virtualThreadsRequested = virtualThreadsRequested;
+        this.properties = properties;
+        this.dataSources = dataSources;
+        this.pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .tag("application", applicationName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!virtualThreadsRequested) {
+            log.debug("Virtual threads are off; set spring.threads.virtual.enabled on Java 21 to turn them on");
+            return;
+        }
+        int javaVersion = Runtime.version().feature();
+
+        List<String> report = new ArrayList<>();
+        if (javaVersion < 21) {
+            report.add("virtual threads: requested, but Java " + javaVersion + " has none; running on platform threads");
+        } else {
+            report.add("virtual threads: on (Java " + javaVersion + ")");
+        }
+        dataSources.orderedStream().forEach(dataSource -> report.add(describeDriver(dataSource)));
+        if (javaVersion >= 21) {
+            report.add(startPinningWatch()
+                    ? "pinning watch: JFR jdk.VirtualThreadPinned over " + properties.getPinnedThreshold().toMillis() + " ms"
+                    : "pinning watch: unavailable, run with -Djdk.tracePinnedThreads=short instead");
+        }
+        log.info("Virtual thread report:{}", report.stream().collect(Collectors.joining("\n  ", "\n  ", "")));
+    }
+
+    @Override
+    public void destroy() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /**
+     * pgJDBC guarded its connections with {@code synchronized} until 42.6.0, so every query pinned.
+     */
+    private static String describeDriver(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String driver = metaData.getDriverName() + " " + metaData.getDriverVersion();
+            boolean pins = metaData.getDriverName().startsWith("PostgreSQL")
+                    && (metaData.getDriverMajorVersion() < 42
+                    || metaData.getDriverMajorVersion() == 42 && metaData.getDriverMinorVersion() < 6);
+            return "JDBC driver: " + driver + (pins ? " - pins carrier threads on every query, upgrade to 42.6.0+" : "");
+        } catch (Exception e) {
+            return "JDBC driver: unknown (" + e.getMessage() + ")";
+        }
+    }
+
+    private boolean startPinningWatch() {
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable("jdk.VirtualThreadPinned")
+                    .withThreshold(properties.getPinnedThreshold())
+                    .withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+            stream.startAsync();
+            recording = stream;
+            return true;
+        } catch (Exception | LinkageError e) {
+            log.warn("Cannot watch for pinned virtual threads: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        String stack = frames.stream()
+                .limit(STACK_DEPTH)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n    at ", "\n    at ", ""));
+        if (reportedSites.add(stack)) {
+            log.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), stack);
+        }
+    }
+}
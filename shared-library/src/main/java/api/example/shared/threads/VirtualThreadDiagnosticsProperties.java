@@ -0,0 +1,15 @@
+package api.example.shared.threads;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "virtual-threads.diagnostics")
+public class VirtualThreadDiagnosticsProperties {
+
+    private boolean enabled = true;
+    /** Pinned virtual threads blocked for longer than this are recorded. */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+}
@@ -0,0 +1,45 @@
+package api.example.shared.util;
+
+import api.example.shared.constants.AppConstants;
+import api.example.shared.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+public class PageRequests {
+
+    private PageRequests() {
+    }
+
+    /**
+     * Offset page built from the request parameters; size is capped at {@link AppConstants#MAX_PAGE_SIZE}.
+     *
+     * @param sortable the entity properties clients may sort by; anything else is a {@link BadRequestException}
+     *                 rather than a failed query
+     */
+    public static Pageable of(int page, int size, String sortBy, String sortDir, Set<String> sortable) {
+        if (page < 0) {
+            throw new BadRequestException("Page number cannot be negative");
+        }
+        if (!sortable.contains(sortBy)) {
+            throw new BadRequestException("Cannot sort by: " + sortBy);
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(sortDir)
+                .orElseThrow(() -> new BadRequestException("Invalid sort direction: " + sortDir));
+        return PageRequest.of(page, clamp(size), Sort.by(direction, sortBy));
+    }
+
+    /**
+     * Seek page for rows after a given id: one extra row is fetched so the
+     * caller can tell whether another page follows, and no count query is issued.
+     */
+    public static Pageable keyset(int size) {
+        return PageRequest.of(0, clamp(size) + 1, Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    public static int clamp(int size) {
+        return Math.max(1, Math.min(size, AppConstants.MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,229 @@
+package api.example.shared.client;
+
+import api.example.shared.dto.EmployeeSummaryDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeDirectoryClientTest {
+
+    private static final String BASE_URL = "http://employee-service/api/employees";
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final EmployeeDirectoryProperties properties = new EmployeeDirectoryProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmployeeDirectoryClient client;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    void cachesLookupsAcrossRequests() {
+        respond(7L, employee(7L));
+        client = client();
+
+        assertThat(client.getEmployee(7L).getEmail()).isEqualTo("employee7@example.com");
+        assertThat(client.getEmployee(7L).getEmail()).isEqualTo("employee7@example.com");
+
+        verify(restTemplate, times(1)).exchange(eq(BASE_URL + "/7"), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(EmployeeSummaryDTO.class));
+    }
+
+    @Test
+    void forwardsTheCallersCredentials() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        request.addHeader("X-Other", "ignored");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        respond(7L, employee(7L));
+        client = client();
+
+        client.getEmployee(7L);
+
+        ArgumentCaptor<HttpEntity<?>> entity = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).exchange(eq(BASE_URL + "/7"), eq(HttpMethod.GET), entity.capture(),
+                eq(EmployeeSummaryDTO.class));
+        assertThat(entity.getValue().getHeaders().toSingleValueMap())
+                .containsEntry("Authorization", "Bearer token")
+                .doesNotContainKey("X-Other");
+    }
+
+    @Test
+    void unknownAndFailedLookupsReturnNull() {
+        when(restTemplate.exchange(eq(BASE_URL + "/404"), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(EmployeeSummaryDTO.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+        when(restTemplate.exchange(eq(BASE_URL + "/500"), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(EmployeeSummaryDTO.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+        client = client();
+
+        assertThat(client.getEmployee(404L)).isNull();
+        assertThat(client.getEmployee(500L)).isNull();
+        assertThat(client.getEmployee(null)).isNull();
+    }
+
+    @Test
+    void concurrentMissesShareOneCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(restTemplate.exchange(eq(BASE_URL + "/7"), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(EmployeeSummaryDTO.class))).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return ResponseEntity.ok(employee(7L));
+        });
+        client = client();
+
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<EmployeeSummaryDTO>> results = List.of(
+                    callers.submit(() -> client.getEmployee(7L)),
+                    callers.submit(() -> client.getEmployee(7L)),
+                    callers.submit(() -> client.getEmployee(7L)),
+                    callers.submit(() -> client.getEmployee(7L)));
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<EmployeeSummaryDTO> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getId()).isEqualTo(7L);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void cachedEmployeesAreServedWithoutACall() {
+        client = client();
+        client.cacheEmployees(List.of(employee(1L), employee(2L)));
+
+        assertThat(client.getCachedEmployees(List.of(1L, 2L, 3L))).containsOnlyKeys(1L, 2L);
+        assertThat(client.getEmployee(2L).getId()).isEqualTo(2L);
+
+        verify(restTemplate, times(0)).exchange(any(String.class), any(HttpMethod.class), any(HttpEntity.class),
+                eq(EmployeeSummaryDTO.class));
+    }
+
+    @Test
+    void staleEntriesAreServedWhileOneBackgroundReloadRuns() throws InterruptedException {
+        properties.getCache().setRefreshAfter(Duration.ofMillis(50));
+        EmployeeSummaryDTO renamed = employee(7L);
+        renamed.setEmail("renamed@example.com");
+        when(restTemplate.exchange(eq(BASE_URL + "/7"), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(EmployeeSummaryDTO.class)))
+                .thenReturn(ResponseEntity.ok(employee(7L)))
+                .thenReturn(ResponseEntity.ok(renamed));
+        client = client();
+
+        assertThat(client.getEmployee(7L).getEmail()).isEqualTo("employee7@example.com");
+        Thread.sleep(80);
+        assertThat(client.getEmployee(7L).getEmail()).isEqualTo("employee7@example.com");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!client.getEmployee(7L).getEmail().equals("renamed@example.com") && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(client.getEmployee(7L).getEmail()).isEqualTo("renamed@example.com");
+        assertThat(meterRegistry.get("employee.directory.stale").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void slowLookupsAreHedgedAndTheFirstAnswerWins() {
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setInitialDelay(Duration.ofMillis(20));
+        properties.getHedging().setBudgetPercent(100);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(restTemplate.exchange(eq(BASE_URL + "/7"), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(EmployeeSummaryDTO.class))).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return ResponseEntity.ok(employee(7L));
+        });
+        client = client();
+
+        try {
+            long start = System.nanoTime();
+            assertThat(client.getEmployee(7L).getId()).isEqualTo(7L);
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(2));
+        } finally {
+            release.countDown();
+        }
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(hedges("sent")).isEqualTo(1);
+        assertThat(hedges("won")).isEqualTo(1);
+    }
+
+    @Test
+    void slowLookupsAreNotHedgedOnceTheBudgetIsSpent() {
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setInitialDelay(Duration.ofMillis(10));
+        properties.getHedging().setBudgetPercent(0);
+        AtomicInteger calls = new AtomicInteger();
+        when(restTemplate.exchange(eq(BASE_URL + "/7"), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(EmployeeSummaryDTO.class))).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            Thread.sleep(100);
+            return ResponseEntity.ok(employee(7L));
+        });
+        client = client();
+
+        assertThat(client.getEmployee(7L).getId()).isEqualTo(7L);
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(hedges("denied")).isEqualTo(1);
+        assertThat(hedges("sent")).isZero();
+    }
+
+    private EmployeeDirectoryClient client() {
+        return new EmployeeDirectoryClient(restTemplate, properties, meterRegistry, "test");
+    }
+
+    private double hedges(String result) {
+        return meterRegistry.get("employee.directory.hedge").tag("result", result).counter().count();
+    }
+
+    private void respond(Long id, EmployeeSummaryDTO employee) {
+        when(restTemplate.exchange(eq(BASE_URL + "/" + id), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(EmployeeSummaryDTO.class))).thenReturn(ResponseEntity.ok(employee));
+    }
+
+    private static EmployeeSummaryDTO employee(Long id) {
+        return new EmployeeSummaryDTO(id, "EMP-" + id, "First", "Last", "employee" + id + "@example.com", "Engineer");
+    }
+}
@@ -0,0 +1,206 @@
+package api.example.shared.client;
+
+import api.example.shared.dto.EmployeeSummaryDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeEnricherTest {
+
+    private static final String BATCH_URL = "http://employee-service/api/employees/batch";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final EmployeeDirectoryClient directory = mock(EmployeeDirectoryClient.class);
+    private final EmployeeDirectoryProperties properties = new EmployeeDirectoryProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(directory.getCachedEmployees(anyCollection())).thenReturn(Map.of());
+        when(directory.forwardedHeaders()).thenReturn(new HttpHeaders());
+    }
+
+    @Test
+    void fetchesOnlyUncachedIdsAndKeepsTheRowOrder() {
+        when(directory.getCachedEmployees(anyCollection())).thenReturn(Map.of(1L, employee(1L)));
+        EmployeeEnricher enricher = enricher(request -> ids(request).flatMap(EmployeeEnricherTest::respond));
+
+        List<EmployeeSummaryDTO> enriched = enrich(enricher, 3L, 1L, null, 3L, 2L);
+
+        assertThat(batches).containsExactly(List.of(3L, 2L));
+        assertThat(enriched).extracting(employee -> employee != null ? employee.getId() : null)
+                .containsExactly(3L, 1L, null, 3L, 2L);
+        verify(directory).cacheEmployees(any());
+    }
+
+    @Test
+    void makesNoCallWhenEveryIdIsCached() {
+        when(directory.getCachedEmployees(anyCollection())).thenReturn(Map.of(1L, employee(1L), 2L, employee(2L)));
+        EmployeeEnricher enricher = enricher(request -> ids(request).flatMap(EmployeeEnricherTest::respond));
+
+        assertThat(enrich(enricher, 1L, 2L)).extracting(EmployeeSummaryDTO::getId).containsExactly(1L, 2L);
+        assertThat(batches).isEmpty();
+    }
+
+    @Test
+    void splitsMissingIdsIntoChunks() {
+        properties.getEnrichment().setChunkSize(2);
+        EmployeeEnricher enricher = enricher(request -> ids(request).flatMap(EmployeeEnricherTest::respond));
+
+        enrich(enricher, 1L, 2L, 3L, 4L, 5L);
+
+        assertThat(batches).containsExactlyInAnyOrder(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+    }
+
+    @Test
+    void failedChunkLeavesOnlyItsRowsWithoutEmployees() {
+        properties.getEnrichment().setChunkSize(1);
+        EmployeeEnricher enricher = enricher(request -> ids(request).flatMap(ids -> ids.contains(2L)
+                ? Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build())
+                : respond(ids)));
+
+        List<EmployeeSummaryDTO> enriched = enrich(enricher, 1L, 2L, 3L);
+
+        assertThat(enriched.get(0).getId()).isEqualTo(1L);
+        assertThat(enriched.get(1)).isNull();
+        assertThat(enriched.get(2).getId()).isEqualTo(3L);
+        assertThat(failedChunks()).isEqualTo(1);
+    }
+
+    @Test
+    void slowChunkIsDroppedAfterTheCallTimeout() {
+        properties.getEnrichment().setChunkSize(1);
+        properties.getEnrichment().setCallTimeout(Duration.ofMillis(50));
+        EmployeeEnricher enricher = enricher(request -> ids(request)
+                .flatMap(ids -> ids.contains(2L) ? Mono.never() : respond(ids)));
+
+        long start = System.nanoTime();
+        List<EmployeeSummaryDTO> enriched = enrich(enricher, 1L, 2L);
+
+        assertThat(System.nanoTime() - start).isLessThan(Duration.ofSeconds(2).toNanos());
+        assertThat(enriched.get(0).getId()).isEqualTo(1L);
+        assertThat(enriched.get(1)).isNull();
+        assertThat(failedChunks()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsAtMostConcurrencyCallsInFlight() {
+        properties.getEnrichment().setChunkSize(1);
+        properties.getEnrichment().setConcurrency(2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        EmployeeEnricher enricher = enricher(request -> ids(request)
+                .delayElement(Duration.ofMillis(20))
+                .flatMap(EmployeeEnricherTest::respond)
+                .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                .doOnNext(response -> inFlight.decrementAndGet()));
+
+        List<EmployeeSummaryDTO> enriched = enrich(enricher, 1L, 2L, 3L, 4L, 5L, 6L);
+
+        assertThat(enriched).extracting(EmployeeSummaryDTO::getId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+
+    private EmployeeEnricher enricher(ExchangeFunction exchange) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    assertThat(request.url().toString()).isEqualTo(BATCH_URL);
+                    return exchange.exchange(request);
+                })
+                .build();
+        return new EmployeeEnricher(webClient, directory, properties, meterRegistry, "test");
+    }
+
+    private static List<EmployeeSummaryDTO> enrich(EmployeeEnricher enricher, Long... ids) {
+        return enricher.enrichBlocking(Arrays.asList(ids), Function.identity(), (id, employee) -> employee);
+    }
+
+    /**
+     * Records and returns the ids a batch call asked for.
+     */
+    private Mono<List<Long>> ids(ClientRequest request) {
+        MockClientHttpRequest body = new MockClientHttpRequest(request.method(), request.url());
+        return request.body().insert(body, new BodyInserter.Context() {
+                    @Override
+                    public List<HttpMessageWriter<?>> messageWriters() {
+                        return ExchangeStrategies.withDefaults().messageWriters();
+                    }
+
+                    @Override
+                    public Optional<ServerHttpRequest> serverRequest() {
+                        return Optional.empty();
+                    }
+
+                    @Override
+                    public Map<String, Object> hints() {
+                        return Map.of();
+                    }
+                })
+                .then(Mono.defer(body::getBodyAsString))
+                .map(json -> {
+                    try {
+                        List<Long> ids = MAPPER.readValue(json, new TypeReference<List<Long>>() {
+                        });
+                        batches.add(ids);
+                        return ids;
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+    }
+
+    private static Mono<ClientResponse> respond(Collection<Long> ids) {
+        try {
+            String json = MAPPER.writeValueAsString(ids.stream().map(EmployeeEnricherTest::employee)
+                    .collect(Collectors.toList()));
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(json)
+                    .build());
+        } catch (Exception e) {
+            return Mono.error(e);
+        }
+    }
+
+    private double failedChunks() {
+        return meterRegistry.get("employee.enrichment.failed").counter().count();
+    }
+
+    private static EmployeeSummaryDTO employee(Long id) {
+        return new EmployeeSummaryDTO(id, "EMP-" + id, "First", "Last", "employee" + id + "@example.com", "Engineer");
+    }
+}
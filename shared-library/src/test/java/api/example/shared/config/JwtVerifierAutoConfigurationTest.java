@@ -0,0 +1,49 @@
+package api.example.shared.config;
+
+import api.example.shared.security.IdentityAssertion;
+import api.example.shared.security.JwtVerifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtVerifierAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JwtVerifierAutoConfiguration.class))
+            .withPropertyValues("jwt.revocation.enabled=false");
+
+    @Test
+    void blankIdentitySecretCreatesNoAssertion() {
+        contextRunner.withPropertyValues("jwt.gateway.identity-secret=")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(JwtVerifier.class);
+                    assertThat(context).doesNotHaveBean(IdentityAssertion.class);
+                });
+    }
+
+    @Test
+    void trustingTheIdentityHeaderWithoutASecretFailsAtStartup() {
+        contextRunner.withPropertyValues("jwt.gateway.identity-secret=", "jwt.gateway.trust-identity-header=true")
+                .run(context -> assertThat(context).getFailure()
+                        .rootCause()
+                        .hasMessageContaining("jwt.gateway.identity-secret is not set"));
+    }
+
+    @Test
+    void trustingTheIdentityHeaderWithThePublishedSecretFailsAtStartup() {
+        contextRunner.withPropertyValues("jwt.gateway.identity-secret=your-gateway-identity-secret-at-least-256-bits",
+                        "jwt.gateway.trust-identity-header=true")
+                .run(context -> assertThat(context).getFailure()
+                        .rootCause()
+                        .hasMessageContaining("published default"));
+    }
+
+    @Test
+    void trustsTheIdentityHeaderWithAProperSecret() {
+        contextRunner.withPropertyValues("jwt.gateway.identity-secret=test-identity-secret-that-is-at-least-256-bits",
+                        "jwt.gateway.trust-identity-header=true")
+                .run(context -> assertThat(context.getBean(JwtVerifier.class).trustsIdentityHeader()).isTrue());
+    }
+}
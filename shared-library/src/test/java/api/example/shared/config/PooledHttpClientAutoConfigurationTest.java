@@ -0,0 +1,54 @@
+package api.example.shared.config;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PooledHttpClientAutoConfigurationTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(PooledHttpClientAutoConfiguration.class));
+
+    @Test
+    void poolsConnectionsWithTheConfiguredLimits() {
+        contextRunner.withPropertyValues("http-client.max-total=20", "http-client.max-per-route=5")
+                // the route key holds a colon, which withPropertyValues would read as the separator
+                .withInitializer(context -> context.getEnvironment().getPropertySources().addFirst(
+                        new MapPropertySource("routes", Map.of("http-client.routes.[payroll-1:8083]", "12"))))
+                .run(context -> {
+                    PoolingHttpClientConnectionManager pool = context.getBean(PoolingHttpClientConnectionManager.class);
+                    assertThat(pool.getMaxTotal()).isEqualTo(20);
+                    assertThat(pool.getDefaultMaxPerRoute()).isEqualTo(5);
+                    assertThat(pool.getMaxPerRoute(new HttpRoute(new HttpHost("payroll-1", 8083)))).isEqualTo(12);
+                    assertThat(context.getBean(ClientHttpRequestFactory.class))
+                            .isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+                });
+    }
+
+    @Test
+    void canBeSwitchedOff() {
+        contextRunner.withPropertyValues("http-client.enabled=false")
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(PoolingHttpClientConnectionManager.class);
+                    assertThat(context).doesNotHaveBean(ClientHttpRequestFactory.class);
+                });
+    }
+
+    @Test
+    void backsOffForAServicesOwnRequestFactory() {
+        contextRunner.withBean(ClientHttpRequestFactory.class, SimpleClientHttpRequestFactory::new)
+                .run(context -> assertThat(context.getBean(ClientHttpRequestFactory.class))
+                        .isInstanceOf(SimpleClientHttpRequestFactory.class));
+    }
+}
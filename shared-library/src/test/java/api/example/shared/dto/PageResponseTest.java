@@ -0,0 +1,38 @@
+package api.example.shared.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageResponseTest {
+
+    @Test
+    void keysetPageWithAnExtraRowPointsAtTheNextPage() {
+        PageResponse<String> page = PageResponse.keyset(List.of(3L, 5L, 8L), 2, Function.identity(), PageResponseTest::names);
+
+        assertThat(page.getContent()).containsExactly("row-3", "row-5");
+        assertThat(page.isLast()).isFalse();
+        assertThat(page.getNextAfterId()).isEqualTo(5L);
+        assertThat(page.getTotalElements()).isNull();
+        assertThat(page.getPage()).isNull();
+    }
+
+    @Test
+    void keysetPageWithoutAnExtraRowIsTheLast() {
+        PageResponse<String> full = PageResponse.keyset(List.of(3L, 5L), 2, Function.identity(), PageResponseTest::names);
+        PageResponse<String> empty = PageResponse.keyset(List.<Long>of(), 2, Function.identity(), PageResponseTest::names);
+
+        assertThat(full.getContent()).containsExactly("row-3", "row-5");
+        assertThat(full.isLast()).isTrue();
+        assertThat(full.getNextAfterId()).isNull();
+        assertThat(empty.getContent()).isEmpty();
+        assertThat(empty.isLast()).isTrue();
+    }
+
+    private static List<String> names(List<Long> ids) {
+        return ids.stream().map(id -> "row-" + id).toList();
+    }
+}
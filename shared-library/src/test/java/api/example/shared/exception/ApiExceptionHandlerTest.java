@@ -0,0 +1,36 @@
+package api.example.shared.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiExceptionHandlerTest {
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    @Test
+    void badRequestBecomesA400WithItsMessage() {
+        ProblemDetail problem = handler.handleBadRequest(new BadRequestException("Cannot sort by: password"));
+
+        assertThat(problem.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(problem.getDetail()).isEqualTo("Cannot sort by: password");
+    }
+
+    @Test
+    void unknownPropertyBecomesA400() {
+        ProblemDetail problem = handler.handleUnknownProperty(
+                new PropertyReferenceException("nope", TypeInformation.of(Sample.class), List.of()));
+
+        assertThat(problem.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(problem.getDetail()).isEqualTo("Unknown property: nope");
+    }
+
+    private static class Sample {
+    }
+}
@@ -0,0 +1,162 @@
+package api.example.shared.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeastLoadedLoadBalancerTest {
+
+    private static final ServiceInstance A = new DefaultServiceInstance("a", "employee-service", "host-a", 8080, false);
+    private static final ServiceInstance B = new DefaultServiceInstance("b", "employee-service", "host-b", 8080, false);
+
+    private final LeastLoadedLoadBalancerProperties properties = new LeastLoadedLoadBalancerProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    LeastLoadedLoadBalancerTest() {
+        properties.getEjection().setConsecutiveFailures(3);
+    }
+
+    @Test
+    void prefersTheFasterLessBusyInstance() {
+        LeastLoadedLoadBalancer balancer = balancer(A, B);
+        complete(balancer, A, Duration.ofMillis(100), CompletionContext.Status.SUCCESS, null);
+        complete(balancer, B, Duration.ofMillis(1), CompletionContext.Status.SUCCESS, null);
+
+        assertThat(chosen(balancer, 50)).containsExactly("b");
+    }
+
+    @Test
+    void ejectsAnInstanceAfterConsecutiveFailures() {
+        LeastLoadedLoadBalancer balancer = balancer(A, B);
+
+        for (int i = 0; i < 3; i++) {
+            complete(balancer, A, Duration.ZERO, CompletionContext.Status.FAILED, null);
+        }
+
+        assertThat(meterRegistry.get("loadbalancer.ejections").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("loadbalancer.ejected").gauge().value()).isEqualTo(1);
+        assertThat(chosen(balancer, 50)).containsExactly("b");
+    }
+
+    @Test
+    void serverErrorsCountAsFailuresButClientErrorsDoNot() {
+        LeastLoadedLoadBalancer balancer = balancer(A, B);
+
+        for (int i = 0; i < 3; i++) {
+            complete(balancer, A, Duration.ZERO, CompletionContext.Status.SUCCESS, response(HttpStatus.NOT_FOUND));
+        }
+        assertThat(meterRegistry.get("loadbalancer.ejections").counter().count()).isZero();
+
+        for (int i = 0; i < 3; i++) {
+            complete(balancer, A, Duration.ZERO, CompletionContext.Status.SUCCESS, response(HttpStatus.BAD_GATEWAY));
+        }
+        assertThat(meterRegistry.get("loadbalancer.ejections").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void aSuccessResetsTheFailureStreak() {
+        LeastLoadedLoadBalancer balancer = balancer(A, B);
+
+        complete(balancer, A, Duration.ZERO, CompletionContext.Status.FAILED, null);
+        complete(balancer, A, Duration.ZERO, CompletionContext.Status.FAILED, null);
+        complete(balancer, A, Duration.ZERO, CompletionContext.Status.SUCCESS, null);
+        complete(balancer, A, Duration.ZERO, CompletionContext.Status.FAILED, null);
+        complete(balancer, A, Duration.ZERO, CompletionContext.Status.FAILED, null);
+
+        assertThat(meterRegistry.get("loadbalancer.ejections").counter().count()).isZero();
+    }
+
+    @Test
+    void neverEjectsMoreThanMaxPercent() {
+        LeastLoadedLoadBalancer balancer = balancer(A, B);
+        balancer.choose(request()).block();
+
+        for (int i = 0; i < 3; i++) {
+            complete(balancer, A, Duration.ZERO, CompletionContext.Status.FAILED, null);
+            complete(balancer, B, Duration.ZERO, CompletionContext.Status.FAILED, null);
+        }
+
+        assertThat(meterRegistry.get("loadbalancer.ejected").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void ejectedInstancesReturnAfterTheEjectionTime() throws InterruptedException {
+        properties.getEjection().setBaseTime(Duration.ofMillis(50));
+        LeastLoadedLoadBalancer balancer = balancer(A, B);
+        for (int i = 0; i < 3; i++) {
+            complete(balancer, A, Duration.ZERO, CompletionContext.Status.FAILED, null);
+        }
+        assertThat(chosen(balancer, 20)).containsExactly("b");
+
+        Thread.sleep(100);
+        complete(balancer, B, Duration.ofMillis(100), CompletionContext.Status.SUCCESS, null);
+
+        assertThat(meterRegistry.get("loadbalancer.ejected").gauge().value()).isZero();
+        assertThat(chosen(balancer, 20)).containsExactly("a");
+    }
+
+    private LeastLoadedLoadBalancer balancer(ServiceInstance... instances) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ServiceInstanceListSupplier> provider = mock(ObjectProvider.class);
+        ServiceInstanceListSupplier supplier = ServiceInstanceListSuppliers.from("employee-service", instances);
+        when(provider.getIfAvailable(any())).thenReturn(supplier);
+        LeastLoadedLoadBalancer balancer =
+                new LeastLoadedLoadBalancer(provider, "employee-service", properties, meterRegistry);
+        // the balancer learns how many instances there are when it first chooses
+        balancer.choose(request()).block();
+        return balancer;
+    }
+
+    private static Set<String> chosen(LeastLoadedLoadBalancer balancer, int times) {
+        Set<String> chosen = new HashSet<>();
+        for (int i = 0; i < times; i++) {
+            chosen.add(balancer.choose(request()).block().getServer().getInstanceId());
+        }
+        return chosen;
+    }
+
+    private static void complete(LeastLoadedLoadBalancer balancer, ServiceInstance instance, Duration latency,
+                                 CompletionContext.Status status, ResponseData clientResponse) {
+        Request<Object> request = request();
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        balancer.onStartRequest(request, response);
+        ((RequestDataContext) request.getContext())
+                .setRequestStartTime(System.nanoTime() - TimeUnit.NANOSECONDS.convert(latency));
+        balancer.onComplete(status == CompletionContext.Status.FAILED
+                ? new CompletionContext<>(status, new IOException("Connection refused"), request, response)
+                : new CompletionContext<>(status, request, response, clientResponse));
+    }
+
+    private static Request<Object> request() {
+        return new DefaultRequest<>(new RequestDataContext());
+    }
+
+    private static ResponseData response(HttpStatus status) {
+        return new ResponseData(status, new HttpHeaders(), new LinkedMultiValueMap<>(), null);
+    }
+}
@@ -0,0 +1,59 @@
+package api.example.shared.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdentityAssertionTest {
+
+    private static final String SECRET = "test-identity-secret-that-is-at-least-256-bits";
+
+    private final IdentityAssertion assertion = new IdentityAssertion(SECRET);
+
+    @Test
+    void roundTripsTheIdentity() {
+        Instant expiresAt = Instant.now().plusSeconds(60);
+
+        VerifiedToken verified = assertion.verify(assertion.sign(
+                new VerifiedToken("jane|doe@example.com", "ADMIN", 7L, expiresAt, "jti")));
+
+        assertThat(verified.getEmail()).isEqualTo("jane|doe@example.com");
+        assertThat(verified.getRole()).isEqualTo("ADMIN");
+        assertThat(verified.getUserId()).isEqualTo(7L);
+        assertThat(verified.getExpiresAt()).isEqualTo(Instant.ofEpochSecond(expiresAt.getEpochSecond()));
+        assertThat(verified.getTokenId()).isNull();
+    }
+
+    @Test
+    void rejectsATamperedPayload() {
+        String signed = assertion.sign(new VerifiedToken("jane@example.com", "EMPLOYEE", 7L, null, null));
+        String forged = new IdentityAssertion(SECRET + "-other").sign(
+                new VerifiedToken("jane@example.com", "ADMIN", 7L, null, null));
+        String swapped = forged.substring(0, forged.indexOf('.')) + signed.substring(signed.indexOf('.'));
+
+        assertThat(assertion.verify(forged)).isNull();
+        assertThat(assertion.verify(swapped)).isNull();
+    }
+
+    @Test
+    void rejectsExpiredAndMalformedAssertions() {
+        String expired = assertion.sign(
+                new VerifiedToken("jane@example.com", "EMPLOYEE", 7L, Instant.now().minusSeconds(5), null));
+
+        assertThat(assertion.verify(expired)).isNull();
+        assertThat(assertion.verify(null)).isNull();
+        assertThat(assertion.verify("no-signature")).isNull();
+        assertThat(assertion.verify("!!!.???")).isNull();
+    }
+
+    @Test
+    void refusesShortOrPublishedSecrets() {
+        assertThatThrownBy(() -> new IdentityAssertion("")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IdentityAssertion("too-short")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IdentityAssertion("your-gateway-identity-secret-at-least-256-bits"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,158 @@
+package api.example.shared.security;
+
+import api.example.shared.dto.JwkSet;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwksKeyResolverTest {
+
+    private static final Key LEGACY_KEY =
+            Keys.hmacShaKeyFor("test-jwt-secret-that-is-long-enough-for-hs256".getBytes(StandardCharsets.UTF_8));
+
+    private final KeyPair current = Keys.keyPairFor(SignatureAlgorithm.ES256);
+    private final KeyPair next = Keys.keyPairFor(SignatureAlgorithm.ES256);
+    private final AtomicReference<JwkSet> published = new AtomicReference<>(jwks("current", current));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwksKeyResolver resolver;
+
+    @AfterEach
+    void tearDown() {
+        if (resolver != null) {
+            resolver.close();
+        }
+    }
+
+    @Test
+    void verifiesTokensByKid() throws InterruptedException {
+        resolver = resolver(LEGACY_KEY, null);
+        awaitUntil(() -> keys() == 1);
+
+        assertThat(parse(token("current", current.getPrivate())).getSubject()).isEqualTo("jane@example.com");
+        assertThatThrownBy(() -> parse(token("current", next.getPrivate()))).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void unknownKidIsRejectedAndPullsTheNewKeySet() throws InterruptedException {
+        resolver = resolver(LEGACY_KEY, null);
+        awaitUntil(() -> keys() == 1);
+        published.set(new JwkSet(List.of(jwk("current", current), jwk("next", next))));
+        String token = token("next", next.getPrivate());
+
+        assertThatThrownBy(() -> parse(token)).isInstanceOf(JwtException.class);
+        assertThat(meterRegistry.get("jwt.jwks.unknown.kid").counter().count()).isEqualTo(1);
+
+        awaitUntil(() -> keys() == 2);
+        assertThat(parse(token).getSubject()).isEqualTo("jane@example.com");
+    }
+
+    @Test
+    void emptyKeySetKeepsTheKnownKeys() throws InterruptedException {
+        resolver = resolver(LEGACY_KEY, null);
+        awaitUntil(() -> keys() == 1);
+        published.set(new JwkSet(List.of()));
+
+        assertThatThrownBy(() -> parse(token("unknown", next.getPrivate()))).isInstanceOf(JwtException.class);
+        Thread.sleep(50);
+
+        assertThat(parse(token("current", current.getPrivate())).getSubject()).isEqualTo("jane@example.com");
+    }
+
+    @Test
+    void legacyTokensAreAcceptedOnlyUntilTheCutoff() {
+        String legacy = token(null, LEGACY_KEY);
+
+        resolver = resolver(LEGACY_KEY, Instant.now().plus(Duration.ofHours(1)));
+        assertThat(parse(legacy).getSubject()).isEqualTo("jane@example.com");
+        resolver.close();
+
+        resolver = resolver(LEGACY_KEY, Instant.now().minusSeconds(1));
+        assertThatThrownBy(() -> parse(legacy)).isInstanceOf(JwtException.class);
+        resolver.close();
+
+        resolver = resolver(null, null);
+        assertThatThrownBy(() -> parse(legacy)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void jwkRoundTripsThePublicKey() {
+        ECPublicKey key = (ECPublicKey) current.getPublic();
+
+        JwkSet.Jwk jwk = Jwks.toJwk("current", key);
+
+        assertThat(jwk.getAlg()).isEqualTo(Jwks.ALGORITHM);
+        assertThat(Jwks.toPublicKey(jwk)).isEqualTo(key);
+        jwk.setKty("RSA");
+        assertThatThrownBy(() -> Jwks.toPublicKey(jwk)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private JwksKeyResolver resolver(Key legacyKey, Instant legacyAcceptUntil) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<JwksSource> provider = mock(ObjectProvider.class);
+        JwksSource source = published::get;
+        when(provider.getIfAvailable()).thenReturn(source);
+        return new JwksKeyResolver(provider, legacyKey, legacyAcceptUntil, Duration.ofHours(1), Duration.ZERO,
+                meterRegistry, "test");
+    }
+
+    private Claims parse(String token) {
+        return Jwts.parserBuilder().setSigningKeyResolver(resolver).build().parseClaimsJws(token).getBody();
+    }
+
+    private double keys() {
+        return meterRegistry.get("jwt.jwks.keys").gauge().value();
+    }
+
+    private static String token(String kid, Key key) {
+        Instant now = Instant.now();
+        JwtBuilder builder = Jwts.builder()
+                .setSubject("jane@example.com")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(Duration.ofMinutes(5))))
+                .signWith(key);
+        if (kid != null) {
+            builder.setHeaderParam("kid", kid);
+        }
+        return builder.compact();
+    }
+
+    private static JwkSet jwks(String kid, KeyPair keyPair) {
+        return new JwkSet(List.of(jwk(kid, keyPair)));
+    }
+
+    private static JwkSet.Jwk jwk(String kid, KeyPair keyPair) {
+        return Jwks.toJwk(kid, (ECPublicKey) keyPair.getPublic());
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -0,0 +1,116 @@
+package api.example.shared.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtVerifierTest {
+
+    private static final String SECRET = "test-jwt-secret-that-is-long-enough-for-hs256";
+
+    private final JwtProperties properties = new JwtProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    JwtVerifierTest() {
+        properties.setSecret(SECRET);
+    }
+
+    @Test
+    void verifiesAValidToken() {
+        JwtVerifier verifier = new JwtVerifier(properties, meterRegistry, "test");
+
+        VerifiedToken token = verifier.verify(token(SECRET, Duration.ofMinutes(5)));
+
+        assertThat(token.getEmail()).isEqualTo("jane@example.com");
+        assertThat(token.getRole()).isEqualTo("EMPLOYEE");
+        assertThat(token.getUserId()).isEqualTo(7L);
+        assertThat(token.getTokenId()).isEqualTo("jti-1");
+    }
+
+    @Test
+    void rejectsForgedExpiredAndMalformedTokens() {
+        JwtVerifier verifier = new JwtVerifier(properties, meterRegistry, "test");
+
+        assertThat(verifier.verify(token("another-secret-that-is-long-enough-for-hs256", Duration.ofMinutes(5)))).isNull();
+        assertThat(verifier.verify(token(SECRET, Duration.ofMinutes(-1)))).isNull();
+        assertThat(verifier.verify("not.a.jwt")).isNull();
+        assertThat(verifier.verify("")).isNull();
+        assertThat(verifier.verify(null)).isNull();
+    }
+
+    @Test
+    void checksTheSignatureOnlyOncePerToken() {
+        JwtVerifier verifier = new JwtVerifier(properties, meterRegistry, "test");
+        String token = token(SECRET, Duration.ofMinutes(5));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(verifier.verify(token)).isNotNull();
+        }
+
+        assertThat(verifications()).isEqualTo(1);
+    }
+
+    @Test
+    void failuresAreNotCachedAndTheCacheCanBeDisabled() {
+        JwtVerifier verifier = new JwtVerifier(properties, meterRegistry, "test");
+        verifier.verify("not.a.jwt");
+        verifier.verify("not.a.jwt");
+        assertThat(verifications()).isEqualTo(2);
+
+        properties.getCache().setEnabled(false);
+        SimpleMeterRegistry uncachedRegistry = new SimpleMeterRegistry();
+        JwtVerifier uncached = new JwtVerifier(properties, uncachedRegistry, "test");
+        String token = token(SECRET, Duration.ofMinutes(5));
+        uncached.verify(token);
+        uncached.verify(token);
+        assertThat(uncachedRegistry.get("jwt.verification").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsRevokedTokensEvenOnceCached() {
+        RevocationList revocationList = new RevocationList(100, 0.01);
+        JwtVerifier verifier = new JwtVerifier(properties, meterRegistry, "test", null, revocationList);
+        String token = token(SECRET, Duration.ofMinutes(5));
+        assertThat(verifier.verify(token)).isNotNull();
+
+        revocationList.add("jti-1", Instant.now().plus(Duration.ofMinutes(5)));
+
+        assertThat(verifier.verify(token)).isNull();
+    }
+
+    @Test
+    void requiresASecretOrAKeyResolver() {
+        properties.setSecret(null);
+
+        assertThatThrownBy(() -> new JwtVerifier(properties, meterRegistry, "test"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private long verifications() {
+        return meterRegistry.get("jwt.verification").timer().count();
+    }
+
+    private static String token(String secret, Duration lifetime) {
+        Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject("jane@example.com")
+                .claim("role", "EMPLOYEE")
+                .claim("userId", 7L)
+                .setId("jti-1")
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(lifetime)))
+                .signWith(key)
+                .compact();
+    }
+}
@@ -0,0 +1,101 @@
+package api.example.shared.security;
+
+import api.example.shared.dto.RevocationsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RevocationListSyncerTest {
+
+    private static final Instant LATER = Instant.now().plus(Duration.ofHours(1));
+
+    private final RevocationList revocationList = new RevocationList(100, 0.01);
+    private final List<Long> polls = new CopyOnWriteArrayList<>();
+    private RevocationListSyncer syncer;
+
+    @AfterEach
+    void tearDown() {
+        if (syncer != null) {
+            syncer.close();
+        }
+    }
+
+    @Test
+    void followsHasMoreThenPollsFromBehindTheCursor() throws InterruptedException {
+        syncer = syncer(since -> {
+            polls.add(since);
+            if (since == 0) {
+                return new RevocationsResponse(List.of(entry("first")), 10, true);
+            }
+            if (since == 10) {
+                return new RevocationsResponse(List.of(entry("second")), 20, false);
+            }
+            return new RevocationsResponse(List.of(), since, false);
+        }, 5, Duration.ofHours(1));
+
+        awaitUntil(() -> polls.size() >= 4);
+
+        assertThat(revocationList.isRevoked("first")).isTrue();
+        assertThat(revocationList.isRevoked("second")).isTrue();
+        assertThat(List.copyOf(polls).subList(0, 4)).containsExactly(0L, 10L, 15L, 15L);
+    }
+
+    @Test
+    void fullResyncStartsFromTheBeginning() throws InterruptedException {
+        syncer = syncer(since -> {
+            polls.add(since);
+            return new RevocationsResponse(List.of(entry("late-commit")), 50, false);
+        }, 5, Duration.ZERO);
+
+        awaitUntil(() -> polls.size() >= 3);
+
+        assertThat(List.copyOf(polls).subList(0, 3)).containsOnly(0L);
+    }
+
+    @Test
+    void keepsPollingAfterAFailure() throws InterruptedException {
+        syncer = syncer(since -> {
+            polls.add(since);
+            if (polls.size() == 1) {
+                throw new IllegalStateException("auth-service unavailable");
+            }
+            return new RevocationsResponse(List.of(entry("revoked")), 1, false);
+        }, 0, Duration.ofHours(1));
+
+        awaitUntil(() -> revocationList.isRevoked("revoked"));
+
+        assertThat(polls.size()).isGreaterThanOrEqualTo(2);
+    }
+
+    private RevocationListSyncer syncer(RevocationSource source, long overlap, Duration fullResyncInterval) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<RevocationSource> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(source);
+        return new RevocationListSyncer(revocationList, provider, Duration.ofMillis(5), overlap, fullResyncInterval,
+                new SimpleMeterRegistry(), "test");
+    }
+
+    private static RevocationsResponse.Entry entry(String jti) {
+        return new RevocationsResponse.Entry(jti, LATER);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
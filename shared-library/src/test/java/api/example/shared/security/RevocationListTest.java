@@ -0,0 +1,68 @@
+package api.example.shared.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationListTest {
+
+    private static final Instant LATER = Instant.now().plus(Duration.ofHours(1));
+
+    @Test
+    void answersExactlyForAddedIds() {
+        RevocationList list = new RevocationList(100, 0.01);
+
+        list.add("revoked", LATER);
+
+        assertThat(list.isRevoked("revoked")).isTrue();
+        assertThat(list.isRevoked("other")).isFalse();
+        assertThat(list.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void neverMissesAnIdEvenPastItsCapacity() {
+        RevocationList list = new RevocationList(10, 0.01);
+
+        for (int i = 0; i < 5000; i++) {
+            list.add("jti-" + i, LATER);
+        }
+
+        // an overfull filter only gives more false positives, which the exact set rules out
+        for (int i = 0; i < 5000; i++) {
+            assertThat(list.isRevoked("jti-" + i)).isTrue();
+        }
+        for (int i = 5000; i < 6000; i++) {
+            assertThat(list.isRevoked("jti-" + i)).isFalse();
+        }
+        assertThat(list.size()).isEqualTo(5000);
+    }
+
+    @Test
+    void ignoresIdsThatHaveAlreadyExpired() {
+        RevocationList list = new RevocationList(100, 0.01);
+
+        list.add("expired", Instant.now().minusSeconds(1));
+
+        assertThat(list.isRevoked("expired")).isFalse();
+        assertThat(list.size()).isZero();
+    }
+
+    @Test
+    void pruneDropsExpiredIdsAndKeepsTheRest() throws InterruptedException {
+        RevocationList list = new RevocationList(100, 0.01);
+        list.add("short-lived", Instant.now().plusMillis(20));
+        list.add("long-lived", LATER);
+        list.add("no-expiry", null);
+
+        Thread.sleep(50);
+        list.prune();
+
+        assertThat(list.size()).isEqualTo(2);
+        assertThat(list.isRevoked("short-lived")).isFalse();
+        assertThat(list.isRevoked("long-lived")).isTrue();
+        assertThat(list.isRevoked("no-expiry")).isTrue();
+    }
+}
@@ -0,0 +1,47 @@
+package api.example.shared.util;
+
+import api.example.shared.constants.AppConstants;
+import api.example.shared.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageRequestsTest {
+
+    private static final Set<String> SORTABLE = Set.of("id", "lastName");
+
+    @Test
+    void buildsASortedPageCappedAtTheMaximumSize() {
+        Pageable pageable = PageRequests.of(2, 10_000, "lastName", "desc", SORTABLE);
+
+        assertThat(pageable.getPageNumber()).isEqualTo(2);
+        assertThat(pageable.getPageSize()).isEqualTo(AppConstants.MAX_PAGE_SIZE);
+        assertThat(pageable.getSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "lastName"));
+    }
+
+    @Test
+    void rejectsUnknownSortFieldsAndBadParameters() {
+        assertThatThrownBy(() -> PageRequests.of(0, 20, "password", "asc", SORTABLE))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Cannot sort by: password");
+        assertThatThrownBy(() -> PageRequests.of(0, 20, "id", "sideways", SORTABLE))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PageRequests.of(-1, 20, "id", "asc", SORTABLE))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void keysetPageFetchesOneExtraRowInIdOrder() {
+        Pageable pageable = PageRequests.keyset(20);
+
+        assertThat(pageable.getPageNumber()).isZero();
+        assertThat(pageable.getPageSize()).isEqualTo(21);
+        assertThat(pageable.getSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "id"));
+        assertThat(PageRequests.keyset(0).getPageSize()).isEqualTo(2);
+    }
+}